@@ -0,0 +1,36 @@
+package com.project.benchmarks;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.project.entities.Customer;
+import com.project.models.dtos.CustomerRequest;
+import com.project.models.enums.Datastate;
+
+final class BenchmarkData {
+
+	private BenchmarkData() {
+	}
+
+	static CustomerRequest request() {
+		return new CustomerRequest(null, "João Silva", "27802535093", "joao@email.com", "11999998888",
+				"São Paulo", "SP", "Brasil");
+	}
+
+	static Customer customer(long id) {
+		Customer customer = new Customer("João Silva", "27802535093", "joao" + id + "@email.com", "11999998888",
+				"São Paulo", "SP", "Brasil", LocalDate.of(2024, 1, 15), true, Datastate.ATIVO);
+		customer.setId(id);
+		return customer;
+	}
+
+	static List<Customer> customers(int size) {
+		List<Customer> customers = new ArrayList<>(size);
+		for (int i = 1; i <= size; i++) {
+			customers.add(customer(i));
+		}
+		return customers;
+	}
+
+}
@@ -0,0 +1,77 @@
+package com.project.benchmarks;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Drives findById and findAll over HTTP with many concurrent callers against an
+ * already running instance. Run it against the default profile (platform threads),
+ * with {@code --spring.profiles.active=virtual-threads} on Java 21 and with
+ * {@code --spring.profiles.active=reactive} (WebFlux over R2DBC), then compare
+ * throughput and the sampled latency percentiles. Each caller keeps its own connection,
+ * so {@code -t} sets the number of concurrent connections.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 20)
+@Threads(512)
+@Fork(1)
+public class CustomerEndpointBenchmark {
+
+	@Param("http://localhost:8080")
+	private String baseUrl;
+
+	@Param("1000")
+	private int maxId;
+
+	private HttpClient client;
+
+	@Setup
+	public void setUp() {
+		client = HttpClient.newBuilder()
+				.connectTimeout(Duration.ofSeconds(5))
+				.build();
+	}
+
+	@Benchmark
+	public int findById() throws IOException, InterruptedException {
+		long id = ThreadLocalRandom.current().nextLong(1, maxId + 1L);
+		return send("/api/v1/customers/" + id);
+	}
+
+	@Benchmark
+	public int findAll() throws IOException, InterruptedException {
+		int page = ThreadLocalRandom.current().nextInt(0, 10);
+		return send("/api/v1/customers?page=" + page + "&size=20");
+	}
+
+	private int send(String path) throws IOException, InterruptedException {
+		HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+				.timeout(Duration.ofSeconds(30))
+				.GET()
+				.build();
+		return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+	}
+
+}
@@ -0,0 +1,89 @@
+package com.project.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.support.NoOpCacheManager;
+
+import com.project.entities.Customer;
+import com.project.repositories.CustomerRepository;
+import com.project.service.impl.CustomerCache;
+import com.project.service.impl.CustomerServiceImpl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Many threads looking up the same customer with the cache disabled, against a
+ * repository that takes {@code latencyMicros} per call like a database round trip.
+ * {@code direct} calls the repository once per lookup; {@code coalesced} goes through
+ * findById, where concurrent lookups share one in-flight call. The repository call
+ * count per run is printed at the end of each iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(64)
+@Fork(1)
+public class CustomerLookupBenchmark {
+
+	@Param({"1000"})
+	private long latencyMicros;
+
+	private final LongAdder repositoryCalls = new LongAdder();
+	private final LongAdder lookups = new LongAdder();
+	private CustomerRepository repository;
+	private CustomerServiceImpl customerService;
+
+	@Setup
+	public void setUp() {
+		Customer customer = BenchmarkData.customer(1L);
+		repository = (CustomerRepository) Proxy.newProxyInstance(CustomerRepository.class.getClassLoader(),
+				new Class<?>[] { CustomerRepository.class }, (proxy, method, args) -> {
+					if (!method.getName().equals("findById")) {
+						throw new UnsupportedOperationException(method.getName());
+					}
+					repositoryCalls.increment();
+					LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(latencyMicros));
+					return Optional.of(customer);
+				});
+		customerService = new CustomerServiceImpl(repository, new CustomerCache(new NoOpCacheManager()), null, null, null, null, null,
+				null, new SimpleMeterRegistry());
+	}
+
+	@TearDown(Level.Iteration)
+	public void report() {
+		System.out.printf("%n%d lookups, %d repository calls%n", lookups.sumThenReset(), repositoryCalls.sumThenReset());
+	}
+
+	@Benchmark
+	public Optional<Customer> direct() {
+		lookups.increment();
+		return repository.findById(1L);
+	}
+
+	@Benchmark
+	public Customer coalesced() {
+		lookups.increment();
+		return customerService.findById(1L);
+	}
+
+}
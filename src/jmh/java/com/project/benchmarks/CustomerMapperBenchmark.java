@@ -0,0 +1,51 @@
+package com.project.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.project.entities.Customer;
+import com.project.models.dtos.CustomerRequest;
+import com.project.models.dtos.CustomerResponse;
+import com.project.models.mappers.CustomerMapper;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerMapperBenchmark {
+
+	private CustomerMapper mapper;
+	private CustomerRequest request;
+	private Customer customer;
+
+	@Setup
+	public void setUp() {
+		mapper = Mappers.getMapper(CustomerMapper.class);
+		request = BenchmarkData.request();
+		customer = BenchmarkData.customer(1L);
+	}
+
+	@Benchmark
+	public Customer toCustomer() {
+		return mapper.toCustomer(request);
+	}
+
+	@Benchmark
+	public CustomerResponse toCustomerResponse() {
+		return mapper.toCustomerResponse(customer);
+	}
+
+}
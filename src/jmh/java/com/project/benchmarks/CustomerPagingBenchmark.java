@@ -0,0 +1,134 @@
+package com.project.benchmarks;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Fetches the same page of active customers, {@code page} pages deep in name order, with
+ * the OFFSET query behind GET api/v1/customers and with the (name, id) keyset query behind
+ * GET api/v1/customers/scroll. Both run straight against the database from
+ * {@code docker compose up}, so the numbers are the queries alone. Seed the table with a
+ * few million rows first (CSV import).
+ * <p>
+ * The offset query reads and throws away every row before the page, the keyset query
+ * starts at the page on idx_customer_ativo_name. The EXPLAIN (ANALYZE, BUFFERS) of both
+ * is printed at the end of each trial, to compare the rows and buffers read per page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class CustomerPagingBenchmark {
+
+	private static final int SIZE = 20;
+
+	private static final String OFFSET_PAGE = "SELECT * FROM tb_customer WHERE datastate = 'ATIVO' ORDER BY name, id LIMIT ? OFFSET ?";
+
+	private static final String KEYSET_PAGE = "SELECT * FROM tb_customer WHERE datastate = 'ATIVO' AND (name, id) > (?, ?) ORDER BY name, id LIMIT ?";
+
+	@Param("jdbc:postgresql://localhost:5432/bd_project")
+	private String jdbcUrl;
+
+	@Param("postgres")
+	private String username;
+
+	@Param("123")
+	private String password;
+
+	@Param({"1", "100", "10000"})
+	private int page;
+
+	private Connection connection;
+	private PreparedStatement offset;
+	private PreparedStatement keyset;
+	private String afterName;
+	private long afterId;
+
+	@Setup
+	public void setUp() throws SQLException {
+		connection = DriverManager.getConnection(jdbcUrl, username, password);
+		try (PreparedStatement last = connection.prepareStatement(
+				"SELECT name, id FROM tb_customer WHERE datastate = 'ATIVO' ORDER BY name, id LIMIT 1 OFFSET ?")) {
+			last.setLong(1, (long) page * SIZE - 1);
+			try (ResultSet rs = last.executeQuery()) {
+				if (!rs.next()) {
+					throw new IllegalStateException("Fewer than " + page * SIZE + " active customers, seed the table first");
+				}
+				afterName = rs.getString(1);
+				afterId = rs.getLong(2);
+			}
+		}
+		offset = connection.prepareStatement(OFFSET_PAGE);
+		offset.setInt(1, SIZE);
+		offset.setLong(2, (long) page * SIZE);
+		keyset = connection.prepareStatement(KEYSET_PAGE);
+		keyset.setString(1, afterName);
+		keyset.setLong(2, afterId);
+		keyset.setInt(3, SIZE);
+	}
+
+	@TearDown
+	public void tearDown() throws SQLException {
+		try {
+			explain("offset", OFFSET_PAGE, SIZE, (long) page * SIZE);
+			explain("keyset", KEYSET_PAGE, afterName, afterId, SIZE);
+		} finally {
+			connection.close();
+		}
+	}
+
+	@Benchmark
+	public int offset() throws SQLException {
+		return drain(offset);
+	}
+
+	@Benchmark
+	public int keyset() throws SQLException {
+		return drain(keyset);
+	}
+
+	private static int drain(PreparedStatement statement) throws SQLException {
+		int rows = 0;
+		try (ResultSet rs = statement.executeQuery()) {
+			while (rs.next()) {
+				rows++;
+			}
+		}
+		return rows;
+	}
+
+	private void explain(String label, String sql, Object... parameters) throws SQLException {
+		StringBuilder plan = new StringBuilder(label).append(" page ").append(page).append(':');
+		try (PreparedStatement statement = connection.prepareStatement("EXPLAIN (ANALYZE, BUFFERS) " + sql)) {
+			for (int i = 0; i < parameters.length; i++) {
+				statement.setObject(i + 1, parameters[i]);
+			}
+			try (ResultSet rs = statement.executeQuery()) {
+				while (rs.next()) {
+					plan.append(System.lineSeparator()).append("  ").append(rs.getString(1));
+				}
+			}
+		}
+		System.out.println(plan);
+	}
+
+}
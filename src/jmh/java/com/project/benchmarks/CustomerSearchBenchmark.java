@@ -0,0 +1,64 @@
+package com.project.benchmarks;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Single-caller latency of GET api/v1/customers/search against a running instance.
+ * Seed the table with a few million rows first (CSV import), the target is a p99
+ * under 10 ms once the trigram indexes from schema.sql are in place.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 20)
+@Fork(1)
+public class CustomerSearchBenchmark {
+
+	private static final String[] TERMS = {"silva", "maria", "joao@", "paulo", "pinheiro", "janeiro", "email.com", "souza"};
+
+	@Param("http://localhost:8080")
+	private String baseUrl;
+
+	private HttpClient client;
+
+	@Setup
+	public void setUp() {
+		client = HttpClient.newBuilder()
+				.connectTimeout(Duration.ofSeconds(5))
+				.build();
+	}
+
+	@Benchmark
+	public int search() throws IOException, InterruptedException {
+		String term = TERMS[ThreadLocalRandom.current().nextInt(TERMS.length)];
+		HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/customers/search?size=20&q="
+						+ URLEncoder.encode(term, StandardCharsets.UTF_8)))
+				.timeout(Duration.ofSeconds(30))
+				.GET()
+				.build();
+		return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+	}
+
+}
@@ -0,0 +1,74 @@
+package com.project.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PagedModel;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.project.models.dtos.CustomerResponse;
+import com.project.models.mappers.CustomerMapper;
+
+/**
+ * JSON serialization of the list and get responses. With
+ * {@code PageSerializationMode.VIA_DTO} Spring Data writes pages as a {@link PagedModel},
+ * so that is what the page benchmark serializes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerSerializationBenchmark {
+
+	@Param({"10", "100"})
+	private int pageSize;
+
+	private ObjectMapper objectMapper;
+	private CustomerResponse response;
+	private PagedModel<CustomerResponse> pagedModel;
+
+	@Setup
+	public void setUp() {
+		objectMapper = new ObjectMapper()
+				.registerModule(new JavaTimeModule())
+				.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+		CustomerMapper mapper = Mappers.getMapper(CustomerMapper.class);
+		response = mapper.toCustomerResponse(BenchmarkData.customer(1L));
+		List<CustomerResponse> content = BenchmarkData.customers(pageSize).stream()
+				.map(mapper::toCustomerResponse)
+				.toList();
+		Page<CustomerResponse> page = new PageImpl<>(content, PageRequest.of(0, pageSize), 10_000);
+		pagedModel = new PagedModel<>(page);
+	}
+
+	@Benchmark
+	public byte[] customerResponse() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(response);
+	}
+
+	@Benchmark
+	public byte[] customerResponsePage() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(pagedModel);
+	}
+
+}
@@ -0,0 +1,67 @@
+package com.project.benchmarks;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.project.entities.Customer;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+
+/**
+ * Bean Validation of {@link Customer}, which is what Hibernate runs before every insert
+ * and update. The invalid case also pays for message interpolation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerValidationBenchmark {
+
+	private ValidatorFactory validatorFactory;
+	private Validator validator;
+	private Customer validCustomer;
+	private Customer invalidCustomer;
+
+	@Setup
+	public void setUp() {
+		validatorFactory = Validation.buildDefaultValidatorFactory();
+		validator = validatorFactory.getValidator();
+		validCustomer = BenchmarkData.customer(1L);
+		invalidCustomer = BenchmarkData.customer(2L);
+		invalidCustomer.setCpf("12345678900");
+		invalidCustomer.setEmail("not-an-email");
+	}
+
+	@TearDown
+	public void tearDown() {
+		validatorFactory.close();
+	}
+
+	@Benchmark
+	public Set<ConstraintViolation<Customer>> validCustomer() {
+		return validator.validate(validCustomer);
+	}
+
+	@Benchmark
+	public Set<ConstraintViolation<Customer>> invalidCustomer() {
+		return validator.validate(invalidCustomer);
+	}
+
+}
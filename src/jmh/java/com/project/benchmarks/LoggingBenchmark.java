@@ -0,0 +1,129 @@
+package com.project.benchmarks;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.engine.jdbc.internal.FormatStyle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+
+import com.project.models.dtos.CustomerRequest;
+
+/**
+ * Caller-side cost of the logging done for one findById/save request, with the console
+ * replaced by a discarding stream so only formatting, encoding and locking are measured.
+ * {@code perRequestInfo} is the former behaviour (an INFO line from the controller and one
+ * from the service, the request record rendered through toString), {@code sampledAccessLog}
+ * the current one (those lines at DEBUG plus a 1% sampled access line) and {@code showSql}
+ * what hibernate.show_sql with format_sql adds per statement. {@code sync} writes on the
+ * calling thread as Spring Boot's default console appender does; {@code async} is the
+ * bounded queue of logback-spring.xml.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class LoggingBenchmark {
+
+	private static final String PATTERN = "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%15.15t] %-40.40logger{39} : %m%n";
+
+	private static final String SELECT_BY_ID = "select c1_0.id,c1_0.active,c1_0.city,c1_0.country,c1_0.cpf,c1_0.datastate,"
+			+ "c1_0.email,c1_0.last_modified,c1_0.name,c1_0.phone,c1_0.registration_date,c1_0.state,c1_0.version "
+			+ "from tb_customer c1_0 where c1_0.id=?";
+
+	@Param({"sync", "async"})
+	private String appender;
+
+	private LoggerContext context;
+	private Logger controllerLog;
+	private Logger serviceLog;
+	private Logger accessLog;
+	private PrintStream stdout;
+	private CustomerRequest request;
+
+	@Setup
+	public void setUp() {
+		context = new LoggerContext();
+		PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+		encoder.setContext(context);
+		encoder.setPattern(PATTERN);
+		encoder.start();
+		OutputStreamAppender<ILoggingEvent> console = new OutputStreamAppender<>();
+		console.setContext(context);
+		console.setEncoder(encoder);
+		console.setOutputStream(OutputStream.nullOutputStream());
+		console.start();
+
+		Appender<ILoggingEvent> root = console;
+		if ("async".equals(appender)) {
+			AsyncAppender async = new AsyncAppender();
+			async.setContext(context);
+			async.setQueueSize(8192);
+			async.setNeverBlock(true);
+			async.addAppender(console);
+			async.start();
+			root = async;
+		}
+		ch.qos.logback.classic.Logger rootLogger = context.getLogger(Logger.ROOT_LOGGER_NAME);
+		rootLogger.detachAndStopAllAppenders();
+		rootLogger.addAppender(root);
+		rootLogger.setLevel(Level.INFO);
+
+		controllerLog = context.getLogger("com.project.controllers.CustomerController");
+		serviceLog = context.getLogger("com.project.service.impl.CustomerServiceImpl");
+		accessLog = context.getLogger("access");
+		stdout = new PrintStream(OutputStream.nullOutputStream());
+		request = BenchmarkData.request();
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.stop();
+	}
+
+	@Benchmark
+	public void perRequestInfo() {
+		controllerLog.info("Receiving request in save with param: {}", request);
+		serviceLog.info("Executing service save with param: {}", request);
+	}
+
+	@Benchmark
+	public void sampledAccessLog() {
+		controllerLog.debug("Receiving request in save with param: {}", request);
+		serviceLog.debug("Executing service save with param: {}", request);
+		if (ThreadLocalRandom.current().nextDouble() < 0.01) {
+			accessLog.info("{} {} {} {}ms", "POST", "/api/v1/customers", 201, 3);
+		}
+	}
+
+	@Benchmark
+	public void showSql() {
+		stdout.println("Hibernate: " + FormatStyle.BASIC.getFormatter().format(SELECT_BY_ID));
+	}
+
+}
@@ -0,0 +1,123 @@
+package com.project.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time from launching the application to its first successful {@code GET api/v1/customers}.
+ * {@code plain} starts the extracted jar as is; {@code aot-cds} adds the AOT-generated
+ * context and the CDS archive produced by {@code mvn -Pprod package}. Needs that build in
+ * target/application and a database with the schema in place.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StartupBenchmark {
+
+	@Param({"plain", "aot-cds"})
+	private String mode;
+
+	@Param("target/application/backend-1.0.0.jar")
+	private String jar;
+
+	@Param("prod")
+	private String profile;
+
+	private HttpClient client;
+	private Process process;
+
+	@Setup
+	public void setUp() {
+		client = HttpClient.newBuilder()
+				.connectTimeout(Duration.ofSeconds(1))
+				.build();
+	}
+
+	@Benchmark
+	public int timeToFirstRequest() throws IOException, InterruptedException {
+		int port = freePort();
+		process = new ProcessBuilder(command(port))
+				.directory(new File(jar).getAbsoluteFile().getParentFile())
+				.redirectErrorStream(true)
+				.redirectOutput(ProcessBuilder.Redirect.DISCARD)
+				.start();
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/customers?size=1"))
+				.timeout(Duration.ofSeconds(5))
+				.GET()
+				.build();
+		long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(2);
+		while (System.nanoTime() < deadline) {
+			if (!process.isAlive()) {
+				throw new IllegalStateException("Application exited with " + process.exitValue());
+			}
+			try {
+				int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+				if (status == 200) {
+					return status;
+				}
+			} catch (ConnectException e) {
+				// not listening yet
+			}
+			Thread.sleep(5);
+		}
+		throw new IllegalStateException("No successful request within 2 minutes");
+	}
+
+	@TearDown(Level.Invocation)
+	public void stop() throws InterruptedException {
+		if (process != null) {
+			process.destroy();
+			if (!process.waitFor(30, TimeUnit.SECONDS)) {
+				process.destroyForcibly().waitFor();
+			}
+		}
+	}
+
+	private List<String> command(int port) {
+		List<String> command = new ArrayList<>();
+		command.add("java");
+		if (mode.equals("aot-cds")) {
+			command.add("-XX:SharedArchiveFile=application.jsa");
+			command.add("-Dspring.aot.enabled=true");
+		}
+		command.add("-jar");
+		command.add(new File(jar).getName());
+		command.add("--spring.profiles.active=" + profile);
+		command.add("--server.port=" + port);
+		return command;
+	}
+
+	private static int freePort() throws IOException {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+
+}
@@ -0,0 +1,136 @@
+package com.project.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongFunction;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.models.dtos.BatchItemResult;
+import com.project.models.dtos.BatchResponse;
+import com.project.models.dtos.CustomerRequest;
+import com.project.models.enums.BatchItemStatus;
+
+/**
+ * Asynchronous calls to {@code api/v1/customers}. Every call completes with the HTTP
+ * status and keeps {@link IdPool} in step with the customers it creates and deletes.
+ */
+final class CustomerApi {
+
+	static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+	private static final int SEED_BATCH_SIZE = 1000;
+
+	private final HttpClient client;
+
+	private final String customersUrl;
+
+	private final ObjectMapper objectMapper;
+
+	private final CustomerGenerator generator;
+
+	private final IdPool ids;
+
+	CustomerApi(HttpClient client, String baseUrl, ObjectMapper objectMapper, CustomerGenerator generator, IdPool ids) {
+		this.client = client;
+		this.customersUrl = baseUrl + "/api/v1/customers";
+		this.objectMapper = objectMapper;
+		this.generator = generator;
+		this.ids = ids;
+	}
+
+	/**
+	 * Creates {@code count} customers through the batch endpoint and adds their ids to the pool.
+	 */
+	int seed(int count) throws IOException, InterruptedException {
+		int created = 0;
+		for(int start = 0; start < count; start += SEED_BATCH_SIZE) {
+			List<CustomerRequest> batch = new ArrayList<>();
+			for(int i = start; i < Math.min(start + SEED_BATCH_SIZE, count); i++) {
+				batch.add(generator.next());
+			}
+			HttpResponse<String> response = client.send(json("/batch", "POST", batch).build(), HttpResponse.BodyHandlers.ofString());
+			if(response.statusCode() != 200) {
+				throw new IOException("Seeding failed with HTTP " + response.statusCode() + ": " + response.body());
+			}
+			for(BatchItemResult item : objectMapper.readValue(response.body(), BatchResponse.class).items()) {
+				if(item.status() == BatchItemStatus.CREATED) {
+					ids.add(item.id());
+					created++;
+				}
+			}
+		}
+		return created;
+	}
+
+	CompletableFuture<Integer> execute(Operation operation) {
+		return switch(operation) {
+			case CREATE -> create();
+			case GET -> withId(ids.random(), id -> send(request("/" + id).GET()));
+			case LIST -> send(request("?page=" + ThreadLocalRandom.current().nextInt(Math.max(1, Math.min(ids.size() / 20, 50)))
+					+ "&size=20").GET());
+			case UPDATE -> withId(ids.random(), id -> send(json("/" + id, "PUT",
+					Map.of("city", "Cidade " + ThreadLocalRandom.current().nextInt(1000)))));
+			case DELETE -> withId(ids.take(), id -> send(request("/" + id).DELETE()).thenApply(status -> {
+				if(status != 200) {
+					ids.add(id);
+				}
+				return status;
+			}));
+			case TOGGLE -> withId(ids.random(), id -> send(request("/" + id).method("PATCH", HttpRequest.BodyPublishers.noBody())));
+		};
+	}
+
+	private CompletableFuture<Integer> create() {
+		return client.sendAsync(json("", "POST", generator.next()).build(), HttpResponse.BodyHandlers.ofString())
+			.thenApply(response -> {
+				if(response.statusCode() == 201) {
+					try {
+						JsonNode id = objectMapper.readTree(response.body()).get("id");
+						if(id != null) {
+							ids.add(id.asLong());
+						}
+					} catch(JsonProcessingException e) {
+						return -1;
+					}
+				}
+				return response.statusCode();
+			});
+	}
+
+	/**
+	 * Runs the call for an id from the pool, or creates a customer when the pool is empty.
+	 */
+	private CompletableFuture<Integer> withId(long id, LongFunction<CompletableFuture<Integer>> call) {
+		return id < 0 ? create() : call.apply(id);
+	}
+
+	private CompletableFuture<Integer> send(HttpRequest.Builder request) {
+		return client.sendAsync(request.build(), HttpResponse.BodyHandlers.discarding()).thenApply(HttpResponse::statusCode);
+	}
+
+	private HttpRequest.Builder request(String path) {
+		return HttpRequest.newBuilder(URI.create(customersUrl + path)).timeout(TIMEOUT);
+	}
+
+	private HttpRequest.Builder json(String path, String method, Object body) {
+		try {
+			return request(path)
+					.header("Content-Type", "application/json")
+					.method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+		} catch(JsonProcessingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
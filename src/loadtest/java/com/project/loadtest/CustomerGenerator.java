@@ -0,0 +1,49 @@
+package com.project.loadtest;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.project.models.dtos.CustomerRequest;
+
+/**
+ * Customers with valid, run-unique CPFs and emails. CPF bases are consecutive from a
+ * random start, so a run does not collide with itself and rarely with earlier runs.
+ */
+final class CustomerGenerator {
+
+	private static final String[][] CITIES = {
+			{"São Paulo", "SP"}, {"Campinas", "SP"}, {"Rio de Janeiro", "RJ"}, {"Belo Horizonte", "MG"},
+			{"Curitiba", "PR"}, {"Porto Alegre", "RS"}, {"Salvador", "BA"}, {"Recife", "PE"}};
+
+	private final String run = Long.toString(System.currentTimeMillis(), 36);
+
+	private final AtomicLong sequence = new AtomicLong(ThreadLocalRandom.current().nextLong(1_000_000_000L));
+
+	CustomerRequest next() {
+		long number;
+		String base;
+		do {
+			number = sequence.getAndIncrement();
+			base = String.format("%09d", number % 1_000_000_000L);
+		} while(base.chars().distinct().count() == 1);
+		String[] city = CITIES[(int) (number % CITIES.length)];
+		return new CustomerRequest(null, "Cliente " + number, cpf(base), "load-" + run + "-" + number + "@example.com",
+				"119" + String.format("%08d", number % 100_000_000L), city[0], city[1], "Brasil");
+	}
+
+	static String cpf(String base) {
+		int first = checkDigit(base, 10);
+		int second = checkDigit(base + first, 11);
+		return base + first + second;
+	}
+
+	private static int checkDigit(String digits, int weight) {
+		int sum = 0;
+		for(int i = 0; i < digits.length(); i++) {
+			sum += (digits.charAt(i) - '0') * (weight - i);
+		}
+		int remainder = sum % 11;
+		return remainder < 2 ? 0 : 11 - remainder;
+	}
+
+}
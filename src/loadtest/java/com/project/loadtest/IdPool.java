@@ -0,0 +1,48 @@
+package com.project.loadtest;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Ids of the customers the workload can still address. Deleted ids are taken out before
+ * the DELETE is sent, so later operations do not target them.
+ */
+final class IdPool {
+
+	private long[] ids = new long[1024];
+
+	private int size;
+
+	synchronized void add(long id) {
+		if(size == ids.length) {
+			long[] grown = new long[ids.length * 2];
+			System.arraycopy(ids, 0, grown, 0, size);
+			ids = grown;
+		}
+		ids[size++] = id;
+	}
+
+	/**
+	 * A random id, or -1 when the pool is empty.
+	 */
+	synchronized long random() {
+		return size == 0 ? -1 : ids[ThreadLocalRandom.current().nextInt(size)];
+	}
+
+	/**
+	 * Removes and returns a random id, or -1 when the pool is empty.
+	 */
+	synchronized long take() {
+		if(size == 0) {
+			return -1;
+		}
+		int index = ThreadLocalRandom.current().nextInt(size);
+		long id = ids[index];
+		ids[index] = ids[--size];
+		return id;
+	}
+
+	synchronized int size() {
+		return size;
+	}
+
+}
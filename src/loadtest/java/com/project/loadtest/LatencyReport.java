@@ -0,0 +1,132 @@
+package com.project.loadtest;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Response times per operation, in microseconds, measured from the moment each request
+ * was scheduled to start rather than when it was sent, so a stalled server is charged
+ * for the requests queued behind it (no coordinated omission). Requests that were due but
+ * never sent are charged the client timeout, so capping the requests in flight does not
+ * hide them from the percentiles either. Every second the interval histograms are appended
+ * to an HdrHistogram log tagged by operation.
+ */
+final class LatencyReport {
+
+	private static final double MICROS_PER_MILLI = 1000.0;
+
+	private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+
+	private final Map<Operation, Histogram> totals = new EnumMap<>(Operation.class);
+
+	private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+	private final Map<Operation, LongAdder> skipped = new EnumMap<>(Operation.class);
+
+	private HistogramLogWriter log;
+
+	LatencyReport() {
+		for(Operation operation : Operation.values()) {
+			recorders.put(operation, new Recorder(3));
+			totals.put(operation, new Histogram(3));
+			errors.put(operation, new LongAdder());
+			skipped.put(operation, new LongAdder());
+		}
+	}
+
+	void record(Operation operation, long intendedStartNanos, int status) {
+		long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStartNanos);
+		recorders.get(operation).recordValue(Math.max(1, micros));
+		if(status < 200 || status >= 300) {
+			errors.get(operation).increment();
+		}
+	}
+
+	/**
+	 * A request that was due but not sent because too many were already in flight. It is
+	 * recorded as an error that took the client timeout.
+	 */
+	void recordSkipped(Operation operation) {
+		recorders.get(operation).recordValue(TimeUnit.NANOSECONDS.toMicros(CustomerApi.TIMEOUT.toNanos()));
+		skipped.get(operation).increment();
+		errors.get(operation).increment();
+	}
+
+	/**
+	 * Starts the measured phase: what was recorded so far (seeding, warmup) is dropped
+	 * and interval histograms are logged to {@code file} from now on.
+	 */
+	void start(Path file) throws FileNotFoundException {
+		recorders.values().forEach(recorder -> recorder.getIntervalHistogram());
+		errors.values().forEach(LongAdder::reset);
+		skipped.values().forEach(LongAdder::reset);
+		log = new HistogramLogWriter(file.toFile());
+		log.outputLogFormatVersion();
+		long now = System.currentTimeMillis();
+		log.outputStartTime(now);
+		log.setBaseTime(now);
+		log.outputLegend();
+	}
+
+	void flushInterval() {
+		recorders.forEach((operation, recorder) -> {
+			Histogram interval = recorder.getIntervalHistogram();
+			if(log != null) {
+				interval.setTag(operation.label());
+				log.outputIntervalHistogram(interval);
+				totals.get(operation).add(interval);
+			}
+		});
+	}
+
+	void write(Path directory, PrintStream out) throws IOException {
+		Histogram all = new Histogram(3);
+		out.printf("%-8s %10s %8s %8s %10s %10s %10s %10s %10s%n", "op", "count", "errors", "skipped", "p50 ms", "p95 ms", "p99 ms",
+				"p999 ms", "max ms");
+		for(Operation operation : Operation.values()) {
+			Histogram histogram = totals.get(operation);
+			if(histogram.getTotalCount() == 0 && errors.get(operation).sum() == 0) {
+				continue;
+			}
+			all.add(histogram);
+			print(out, operation.label(), histogram, errors.get(operation).sum(), skipped.get(operation).sum());
+			writeDistribution(directory.resolve(operation.label() + ".hgrm"), histogram);
+		}
+		print(out, "all", all, errors.values().stream().mapToLong(LongAdder::sum).sum(),
+				skipped.values().stream().mapToLong(LongAdder::sum).sum());
+		writeDistribution(directory.resolve("all.hgrm"), all);
+		out.printf("skipped: due but not sent (max in flight reached), counted in errors and percentiles at the %ds timeout%n",
+				CustomerApi.TIMEOUT.toSeconds());
+		if(log != null) {
+			log.close();
+		}
+	}
+
+	private static void print(PrintStream out, String label, Histogram histogram, long errorCount, long skippedCount) {
+		out.printf("%-8s %10d %8d %8d %10.2f %10.2f %10.2f %10.2f %10.2f%n", label, histogram.getTotalCount(), errorCount, skippedCount,
+				millis(histogram, 50), millis(histogram, 95), millis(histogram, 99), millis(histogram, 99.9),
+				histogram.getMaxValue() / MICROS_PER_MILLI);
+	}
+
+	private static double millis(Histogram histogram, double percentile) {
+		return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+	}
+
+	private static void writeDistribution(Path file, Histogram histogram) throws IOException {
+		try(PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+			histogram.outputPercentileDistribution(out, MICROS_PER_MILLI);
+		}
+	}
+
+}
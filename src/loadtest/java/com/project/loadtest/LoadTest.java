@@ -0,0 +1,153 @@
+package com.project.loadtest;
+
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.BackendApplication;
+
+/**
+ * Open-model load test of the customer API: seeds customers through the batch endpoint,
+ * then starts requests of the configured mix at a fixed arrival rate, whether or not the
+ * previous ones have completed, and reports latency percentiles and errors per operation.
+ * <p>
+ * It targets a running instance ({@code --base-url}) or, with {@code --start=true}, boots
+ * the application in this JVM on a random port against the datasource of the selected
+ * profiles. Everything runs locally; only the database has to be up.
+ */
+public final class LoadTest {
+
+	private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+	private LoadTest() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		LoadTestOptions options = LoadTestOptions.parse(args);
+		ConfigurableApplicationContext application = null;
+		String baseUrl = options.baseUrl();
+		if(options.startApplication()) {
+			application = new SpringApplicationBuilder(BackendApplication.class)
+					.profiles(options.profiles().isBlank() ? new String[0] : options.profiles().split(","))
+					.properties("server.port=0")
+					.run();
+			baseUrl = "http://localhost:" + application.getEnvironment().getProperty("local.server.port");
+		}
+		try {
+			run(options, baseUrl);
+		} finally {
+			if(application != null) {
+				application.close();
+			}
+		}
+	}
+
+	private static void run(LoadTestOptions options, String baseUrl) throws Exception {
+		Path directory = options.output().resolve(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+		Files.createDirectories(directory);
+		HttpClient client = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofSeconds(5))
+				.build();
+		IdPool ids = new IdPool();
+		CustomerApi api = new CustomerApi(client, baseUrl, new ObjectMapper(), new CustomerGenerator(), ids);
+		LatencyReport report = new LatencyReport();
+		Semaphore inFlight = new Semaphore(options.maxInFlight());
+
+		System.out.printf("Seeding %d customers through %s%n", options.seed(), baseUrl);
+		System.out.printf("Seeded %d customers%n", api.seed(options.seed()));
+
+		System.out.printf("Warming up for %s at %d req/s%n", options.warmup(), options.rate());
+		drive(api, options, options.warmup(), inFlight, report);
+		drain(inFlight, options.maxInFlight());
+
+		System.out.printf("Measuring for %s at %d req/s (mix %s)%n", options.duration(), options.rate(), options.mix());
+		report.start(directory.resolve("latency.hlog"));
+		drive(api, options, options.duration(), inFlight, report);
+		if(!drain(inFlight, options.maxInFlight())) {
+			System.out.printf("Requests still in flight after %s are not reported%n", DRAIN_TIMEOUT);
+		}
+		report.flushInterval();
+
+		try(PrintStream summary = new PrintStream(Files.newOutputStream(directory.resolve("summary.txt")))) {
+			report.write(directory, summary);
+		}
+		System.out.print(Files.readString(directory.resolve("summary.txt")));
+		System.out.printf("HdrHistogram output written to %s%n", directory.toAbsolutePath());
+	}
+
+	/**
+	 * Starts request {@code i} at {@code start + i / rate}. A request whose start time has
+	 * passed is sent immediately, so the rate holds even when responses slow down.
+	 */
+	private static void drive(CustomerApi api, LoadTestOptions options, Duration duration, Semaphore inFlight,
+			LatencyReport report) {
+		Operation[] mix = weightedMix(options);
+		long start = System.nanoTime();
+		long end = start + duration.toNanos();
+		long nextFlush = start + NANOS_PER_SECOND;
+		for(long i = 0; ; i++) {
+			long intended = start + i * NANOS_PER_SECOND / options.rate();
+			if(intended - end >= 0) {
+				return;
+			}
+			long now;
+			while((now = System.nanoTime()) - intended < 0) {
+				LockSupport.parkNanos(intended - now);
+			}
+			if(now - nextFlush >= 0) {
+				report.flushInterval();
+				nextFlush += NANOS_PER_SECOND;
+			}
+			Operation operation = mix[ThreadLocalRandom.current().nextInt(mix.length)];
+			if(!inFlight.tryAcquire()) {
+				report.recordSkipped(operation);
+				continue;
+			}
+			try {
+				api.execute(operation).whenComplete((status, error) -> {
+					inFlight.release();
+					report.record(operation, intended, error == null ? status : -1);
+				});
+			} catch(RuntimeException e) {
+				inFlight.release();
+				report.record(operation, intended, -1);
+			}
+		}
+	}
+
+	private static boolean drain(Semaphore inFlight, int permits) throws InterruptedException {
+		if(inFlight.tryAcquire(permits, DRAIN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+			inFlight.release(permits);
+			return true;
+		}
+		return false;
+	}
+
+	private static Operation[] weightedMix(LoadTestOptions options) {
+		List<Operation> operations = new ArrayList<>();
+		options.mix().forEach((operation, weight) -> {
+			for(int i = 0; i < weight; i++) {
+				operations.add(operation);
+			}
+		});
+		return operations.toArray(Operation[]::new);
+	}
+
+}
@@ -0,0 +1,85 @@
+package com.project.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command line of the load test, given as {@code --name=value} pairs. Unset options keep
+ * the defaults below.
+ */
+record LoadTestOptions(
+		String baseUrl,
+		boolean startApplication,
+		String profiles,
+		int seed,
+		int rate,
+		Duration warmup,
+		Duration duration,
+		int maxInFlight,
+		Map<Operation, Integer> mix,
+		Path output) {
+
+	static final String DEFAULT_MIX = "create=10,get=50,list=20,update=10,delete=5,toggle=5";
+
+	static LoadTestOptions parse(String[] args) {
+		Map<String, String> values = new LinkedHashMap<>();
+		values.put("base-url", "http://localhost:8080");
+		values.put("start", "false");
+		values.put("profiles", "");
+		values.put("seed", "10000");
+		values.put("rate", "500");
+		values.put("warmup", "PT30S");
+		values.put("duration", "PT60S");
+		values.put("max-in-flight", "4096");
+		values.put("mix", DEFAULT_MIX);
+		values.put("output", "target/loadtest");
+		for(String arg : args) {
+			if(arg.isBlank()) {
+				continue;
+			}
+			int separator = arg.indexOf('=');
+			String name = arg.startsWith("--") && separator > 2 ? arg.substring(2, separator) : null;
+			if(name == null || !values.containsKey(name)) {
+				throw new IllegalArgumentException("Unknown option: " + arg);
+			}
+			values.put(name, arg.substring(separator + 1));
+		}
+		LoadTestOptions options = new LoadTestOptions(
+				values.get("base-url"),
+				Boolean.parseBoolean(values.get("start")),
+				values.get("profiles"),
+				Integer.parseInt(values.get("seed")),
+				Integer.parseInt(values.get("rate")),
+				Duration.parse(values.get("warmup")),
+				Duration.parse(values.get("duration")),
+				Integer.parseInt(values.get("max-in-flight")),
+				parseMix(values.get("mix")),
+				Path.of(values.get("output")));
+		if(options.rate() <= 0 || options.maxInFlight() <= 0 || options.seed() < 0) {
+			throw new IllegalArgumentException("rate and max-in-flight must be positive and seed non-negative");
+		}
+		return options;
+	}
+
+	private static Map<Operation, Integer> parseMix(String mix) {
+		Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+		for(String entry : mix.split(",")) {
+			String[] parts = entry.trim().split("=");
+			if(parts.length != 2) {
+				throw new IllegalArgumentException("Invalid mix entry: " + entry);
+			}
+			int weight = Integer.parseInt(parts[1].trim());
+			if(weight > 0) {
+				weights.put(Operation.valueOf(parts[0].trim().toUpperCase()), weight);
+			}
+		}
+		if(weights.isEmpty()) {
+			throw new IllegalArgumentException("The mix needs at least one operation with a positive weight");
+		}
+		return weights;
+	}
+
+}
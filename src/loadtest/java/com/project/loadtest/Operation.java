@@ -0,0 +1,19 @@
+package com.project.loadtest;
+
+/**
+ * The customer API calls of the mixed workload.
+ */
+enum Operation {
+
+	CREATE,
+	GET,
+	LIST,
+	UPDATE,
+	DELETE,
+	TOGGLE;
+
+	String label() {
+		return name().toLowerCase();
+	}
+
+}
@@ -0,0 +1,110 @@
+package com.project.config;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Writes one access log line for a sample of API requests instead of a line per request
+ * from every layer. Server errors, including exceptions escaping the chain, and requests
+ * slower than the threshold are always logged, so the sample rate only thins out the
+ * uneventful ones. Async requests are logged when they complete.
+ */
+public class AccessLogFilter extends OncePerRequestFilter {
+
+	private static final Logger log = LoggerFactory.getLogger("access");
+
+	private final double sampleRate;
+	private final long slowThresholdNanos;
+
+	public AccessLogFilter(double sampleRate, Duration slowThreshold) {
+		this.sampleRate = sampleRate;
+		this.slowThresholdNanos = slowThreshold.toNanos();
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		if (!log.isInfoEnabled()) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+		boolean sampled = sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+		long start = System.nanoTime();
+		try {
+			filterChain.doFilter(request, response);
+		} catch (IOException | ServletException | RuntimeException e) {
+			// the container turns it into a 500 after this filter has returned
+			log(request, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, start, sampled);
+			throw e;
+		}
+		if (request.isAsyncStarted()) {
+			request.getAsyncContext().addListener(new CompletionListener(request, response, start, sampled));
+		} else {
+			log(request, response.getStatus(), start, sampled);
+		}
+	}
+
+	private void log(HttpServletRequest request, int status, long start, boolean sampled) {
+		long elapsed = System.nanoTime() - start;
+		if (sampled || elapsed >= slowThresholdNanos || status >= 500) {
+			log.info("{} {} {} {}ms", request.getMethod(), request.getRequestURI(), status,
+					TimeUnit.NANOSECONDS.toMillis(elapsed));
+		}
+	}
+
+	/**
+	 * Logs an async request, such as a streamed export, once its response is complete
+	 * rather than when the initial dispatch returns.
+	 */
+	private final class CompletionListener implements AsyncListener {
+
+		private final HttpServletRequest request;
+		private final HttpServletResponse response;
+		private final long start;
+		private final boolean sampled;
+		private boolean failed;
+
+		private CompletionListener(HttpServletRequest request, HttpServletResponse response, long start, boolean sampled) {
+			this.request = request;
+			this.response = response;
+			this.start = start;
+			this.sampled = sampled;
+		}
+
+		@Override
+		public void onComplete(AsyncEvent event) {
+			int status = response.getStatus();
+			log(request, failed && status < 500 ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : status, start, sampled);
+		}
+
+		@Override
+		public void onTimeout(AsyncEvent event) {
+			failed = true;
+		}
+
+		@Override
+		public void onError(AsyncEvent event) {
+			failed = true;
+		}
+
+		@Override
+		public void onStartAsync(AsyncEvent event) {
+			event.getAsyncContext().addListener(this);
+		}
+
+	}
+
+}
@@ -0,0 +1,110 @@
+package com.project.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Periodically resizes each HikariCP pool within its bounds, using the acquire timer Hikari
+ * publishes to Micrometer and the median connection usage recorded by
+ * {@link ConnectionUsageRecorder} over the last interval, and the live pool counts.
+ */
+public class AdaptivePoolSizer {
+
+	private static final Logger log = LoggerFactory.getLogger(AdaptivePoolSizer.class);
+
+	private final MeterRegistry registry;
+	private final ConnectionUsageRecorder usage;
+	private final List<PooledSource> pools = new ArrayList<>();
+
+	public AdaptivePoolSizer(List<HikariDataSource> dataSources, MeterRegistry registry, ConnectionUsageRecorder usage,
+			int minSize, int maxSize, double targetAcquireMillis, double latencyTolerance) {
+		this.registry = registry;
+		this.usage = usage;
+		for (HikariDataSource dataSource : dataSources) {
+			pools.add(new PooledSource(dataSource, new PoolSizePolicy(minSize, maxSize, targetAcquireMillis, latencyTolerance)));
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${app.datasource.adaptive.interval:PT10S}")
+	public void resize() {
+		pools.forEach(this::resize);
+	}
+
+	private void resize(PooledSource pool) {
+		HikariPoolMXBean stats = pool.dataSource.getHikariPoolMXBean();
+		if (stats == null) {
+			return;
+		}
+		String name = pool.dataSource.getPoolName();
+		double acquireMillis = pool.acquire.meanSince(registry.find("hikaricp.connections.acquire").tag("pool", name).timer());
+		double usageMillis = usage.medianUsageMillis(name);
+		PoolSizePolicy.Sample sample = new PoolSizePolicy.Sample(acquireMillis, usageMillis,
+				stats.getActiveConnections(), stats.getIdleConnections(), stats.getThreadsAwaitingConnection());
+
+		HikariConfigMXBean config = pool.dataSource.getHikariConfigMXBean();
+		int current = config.getMaximumPoolSize();
+		int next = pool.policy.nextSize(current, sample);
+		if (next != current) {
+			log.info("Resizing pool {} from {} to {} ({})", name, current, next, sample);
+			if (next > current) {
+				boolean fixed = config.getMinimumIdle() >= current;
+				config.setMaximumPoolSize(next);
+				if (fixed) {
+					config.setMinimumIdle(next);
+				}
+			} else {
+				if (config.getMinimumIdle() > next) {
+					config.setMinimumIdle(next);
+				}
+				config.setMaximumPoolSize(next);
+			}
+		}
+	}
+
+	private static final class PooledSource {
+
+		private final HikariDataSource dataSource;
+		private final PoolSizePolicy policy;
+		private final TimerWindow acquire = new TimerWindow();
+
+		private PooledSource(HikariDataSource dataSource, PoolSizePolicy policy) {
+			this.dataSource = dataSource;
+			this.policy = policy;
+		}
+
+	}
+
+	/** Mean of a cumulative timer over the interval since the previous reading. */
+	static final class TimerWindow {
+
+		private long count;
+		private double totalMillis;
+
+		double meanSince(Timer timer) {
+			if (timer == null) {
+				return Double.NaN;
+			}
+			long currentCount = timer.count();
+			double currentTotal = timer.totalTime(TimeUnit.MILLISECONDS);
+			long calls = currentCount - count;
+			double mean = calls > 0 ? (currentTotal - totalMillis) / calls : Double.NaN;
+			count = currentCount;
+			totalMillis = currentTotal;
+			return mean;
+		}
+
+	}
+
+}
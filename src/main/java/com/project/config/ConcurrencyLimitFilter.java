@@ -0,0 +1,90 @@
+package com.project.config;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Caps the number of requests in flight. With virtual threads Tomcat no longer bounds
+ * concurrency through its worker pool, so without this every request would queue on
+ * HikariCP and time out there instead of being shed early. An async request holds its
+ * permit until it completes, not just for its initial dispatch.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+	private final Semaphore permits;
+	private final long acquireTimeoutMillis;
+
+	public ConcurrencyLimitFilter(int maxConcurrentRequests, Duration acquireTimeout) {
+		this.permits = new Semaphore(maxConcurrentRequests, true);
+		this.acquireTimeoutMillis = acquireTimeout.toMillis();
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+			throws ServletException, IOException {
+		boolean acquired;
+		try {
+			acquired = permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			acquired = false;
+		}
+		if (!acquired) {
+			response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Servidor sobrecarregado, tente novamente.");
+			return;
+		}
+		boolean async = false;
+		try {
+			filterChain.doFilter(request, response);
+			async = request.isAsyncStarted();
+		} finally {
+			if (async) {
+				request.getAsyncContext().addListener(new ReleaseOnComplete());
+			} else {
+				permits.release();
+			}
+		}
+	}
+
+	int availablePermits() {
+		return permits.availablePermits();
+	}
+
+	/**
+	 * Keeps an async request, such as a streamed export, counted until its response is
+	 * complete. The container calls onComplete after a timeout or an error as well.
+	 */
+	private final class ReleaseOnComplete implements AsyncListener {
+
+		@Override
+		public void onComplete(AsyncEvent event) {
+			permits.release();
+		}
+
+		@Override
+		public void onTimeout(AsyncEvent event) {
+		}
+
+		@Override
+		public void onError(AsyncEvent event) {
+		}
+
+		@Override
+		public void onStartAsync(AsyncEvent event) {
+			event.getAsyncContext().addListener(this);
+		}
+
+	}
+
+}
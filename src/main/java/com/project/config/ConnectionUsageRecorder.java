@@ -0,0 +1,126 @@
+package com.project.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+
+/**
+ * Collects how long each pool's connections are held into a histogram per sizing window,
+ * next to the metrics of the Hikari tracker it wraps. The window median is the latency
+ * signal of {@link PoolSizePolicy}: unlike the mean of hikaricp.connections.usage it is
+ * not dragged up by the few connections held for minutes by an NDJSON export or a COPY
+ * import, only by most statements getting slower.
+ */
+public class ConnectionUsageRecorder {
+
+	private final Map<String, UsageHistogram> pools = new ConcurrentHashMap<>();
+
+	/**
+	 * A tracker factory that records connection usage here and forwards every event to the
+	 * tracker created by {@code delegate}.
+	 */
+	public MetricsTrackerFactory wrap(Supplier<MetricsTrackerFactory> delegate) {
+		return (poolName, poolStats) -> {
+			IMetricsTracker tracker = delegate.get().create(poolName, poolStats);
+			UsageHistogram histogram = pools.computeIfAbsent(poolName, name -> new UsageHistogram());
+			return new IMetricsTracker() {
+
+				@Override
+				public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+					tracker.recordConnectionCreatedMillis(connectionCreatedMillis);
+				}
+
+				@Override
+				public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+					tracker.recordConnectionAcquiredNanos(elapsedAcquiredNanos);
+				}
+
+				@Override
+				public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+					histogram.record(elapsedBorrowedMillis);
+					tracker.recordConnectionUsageMillis(elapsedBorrowedMillis);
+				}
+
+				@Override
+				public void recordConnectionTimeout() {
+					tracker.recordConnectionTimeout();
+				}
+
+				@Override
+				public void close() {
+					tracker.close();
+				}
+
+			};
+		};
+	}
+
+	/**
+	 * Median time a connection of the pool was held since the previous call, in
+	 * milliseconds; NaN when none was returned.
+	 */
+	public double medianUsageMillis(String poolName) {
+		UsageHistogram histogram = pools.get(poolName);
+		return histogram == null ? Double.NaN : histogram.medianAndReset();
+	}
+
+	/**
+	 * Log-linear buckets: exact below 4 ms, then four buckets per power of two, so a
+	 * value is known to within 25%.
+	 */
+	static final class UsageHistogram {
+
+		private static final int SUB_BUCKETS = 4;
+
+		private final AtomicLongArray counts = new AtomicLongArray(bucket(Long.MAX_VALUE) + 1);
+
+		void record(long millis) {
+			counts.incrementAndGet(bucket(Math.max(0, millis)));
+		}
+
+		double medianAndReset() {
+			long[] window = new long[counts.length()];
+			long total = 0;
+			for (int i = 0; i < window.length; i++) {
+				window[i] = counts.getAndSet(i, 0);
+				total += window[i];
+			}
+			if (total == 0) {
+				return Double.NaN;
+			}
+			long seen = 0;
+			for (int i = 0; i < window.length; i++) {
+				seen += window[i];
+				if (2 * seen >= total) {
+					return midpoint(i);
+				}
+			}
+			return midpoint(window.length - 1);
+		}
+
+		static int bucket(long millis) {
+			if (millis < SUB_BUCKETS) {
+				return (int) millis;
+			}
+			int exponent = 63 - Long.numberOfLeadingZeros(millis);
+			int sub = (int) (millis >>> (exponent - 2)) & (SUB_BUCKETS - 1);
+			return SUB_BUCKETS + (exponent - 2) * SUB_BUCKETS + sub;
+		}
+
+		static double midpoint(int bucket) {
+			if (bucket < SUB_BUCKETS) {
+				return bucket + 0.5;
+			}
+			int exponent = (bucket - SUB_BUCKETS) / SUB_BUCKETS + 2;
+			int sub = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+			double width = Math.pow(2, exponent - 2);
+			return Math.pow(2, exponent) + sub * width + width / 2;
+		}
+
+	}
+
+}
@@ -0,0 +1,25 @@
+package com.project.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class LoggingConfig {
+
+	@Bean
+	FilterRegistrationBean<AccessLogFilter> accessLogFilter(
+			@Value("${app.logging.access.sample-rate:0.01}") double sampleRate,
+			@Value("${app.logging.access.slow-threshold:1s}") Duration slowThreshold) {
+		FilterRegistrationBean<AccessLogFilter> registration =
+				new FilterRegistrationBean<>(new AccessLogFilter(sampleRate, slowThreshold));
+		registration.addUrlPatterns("/api/*");
+		return registration;
+	}
+
+}
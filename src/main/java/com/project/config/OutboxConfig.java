@@ -0,0 +1,33 @@
+package com.project.config;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.outbox.FileOutboxSink;
+import com.project.outbox.InMemoryOutboxSink;
+import com.project.outbox.OutboxSink;
+
+@Configuration
+public class OutboxConfig {
+
+	/**
+	 * The sink named by {@code app.outbox.sink}. Any other value fails the startup instead
+	 * of leaving the relay without a sink.
+	 */
+	@Bean
+	OutboxSink outboxSink(@Value("${app.outbox.sink:memory}") String sink,
+			@Value("${app.outbox.memory.capacity:10000}") int capacity,
+			@Value("${app.outbox.file.path:outbox-events.ndjson}") Path path, ObjectMapper objectMapper) {
+		return switch (sink.trim().toLowerCase(Locale.ROOT)) {
+			case "memory" -> new InMemoryOutboxSink(capacity);
+			case "file" -> new FileOutboxSink(path, objectMapper);
+			default -> throw new IllegalStateException("Unsupported app.outbox.sink '" + sink + "': expected memory or file");
+		};
+	}
+
+}
@@ -0,0 +1,71 @@
+package com.project.config;
+
+/**
+ * Decides the next maximum size of a connection pool from one sampling window.
+ * <p>
+ * Callers waiting for connections while the database answers as fast as usual means the
+ * pool is the bottleneck, so it grows. Connections being held noticeably longer than the
+ * usual baseline means the database itself is slowing down, and adding connections would
+ * only add contention there: the pool keeps its size while callers are waiting and only
+ * shrinks once none are, so a slow spell never starves queued requests. A pool with no
+ * waits and mostly idle connections is trimmed one connection at a time.
+ * <p>
+ * The usage time is the median over the window (see {@link ConnectionUsageRecorder}), so
+ * a few connections held for minutes by exports or imports do not read as a slowdown.
+ */
+public class PoolSizePolicy {
+
+	/**
+	 * Observations over one window in milliseconds, NaN without traffic: the mean acquire
+	 * time and the median time connections were held.
+	 */
+	public record Sample(double acquireMillis, double usageMillis, int active, int idle, int pending) {
+	}
+
+	private static final double BASELINE_DRIFT = 0.05;
+
+	private final int minSize;
+	private final int maxSize;
+	private final double targetAcquireMillis;
+	private final double latencyTolerance;
+	private double baselineUsageMillis = Double.NaN;
+
+	public PoolSizePolicy(int minSize, int maxSize, double targetAcquireMillis, double latencyTolerance) {
+		if (minSize < 1 || maxSize < minSize) {
+			throw new IllegalArgumentException("Invalid pool size bounds: " + minSize + ".." + maxSize);
+		}
+		this.minSize = minSize;
+		this.maxSize = maxSize;
+		this.targetAcquireMillis = targetAcquireMillis;
+		this.latencyTolerance = latencyTolerance;
+	}
+
+	public int nextSize(int current, Sample sample) {
+		boolean traffic = !Double.isNaN(sample.usageMillis());
+		if (traffic) {
+			if (Double.isNaN(baselineUsageMillis) || sample.usageMillis() < baselineUsageMillis) {
+				baselineUsageMillis = sample.usageMillis();
+			} else {
+				baselineUsageMillis += BASELINE_DRIFT * (sample.usageMillis() - baselineUsageMillis);
+			}
+		}
+
+		boolean slower = traffic && sample.usageMillis() > baselineUsageMillis * latencyTolerance;
+		int next = current;
+		if (sample.pending() > 0 || sample.acquireMillis() > targetAcquireMillis) {
+			if (!slower) {
+				next = current + Math.max(1, Math.min(sample.pending(), Math.max(1, current / 2)));
+			}
+		} else if (slower) {
+			next = current - Math.max(1, current / 4);
+		} else if (sample.active() < current / 2 && !(sample.acquireMillis() > targetAcquireMillis / 4)) {
+			next = current - 1;
+		}
+		return Math.max(minSize, Math.min(maxSize, next));
+	}
+
+	double baselineUsageMillis() {
+		return baselineUsageMillis;
+	}
+
+}
@@ -0,0 +1,58 @@
+package com.project.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.adaptive.enabled", havingValue = "true")
+public class PoolSizingConfig {
+
+	@Bean
+	static ConnectionUsageRecorder connectionUsageRecorder() {
+		return new ConnectionUsageRecorder();
+	}
+
+	/**
+	 * Installs the usage recorder on every Hikari pool before it starts, wrapping the
+	 * Micrometer tracker Spring Boot would otherwise install, so the hikaricp.* meters stay.
+	 */
+	@Bean
+	static BeanPostProcessor connectionUsageTracking(ConnectionUsageRecorder recorder, ObjectProvider<MeterRegistry> registry) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof HikariDataSource dataSource && dataSource.getMetricRegistry() == null) {
+					MetricsTrackerFactory existing = dataSource.getMetricsTrackerFactory();
+					dataSource.setMetricsTrackerFactory(recorder.wrap(existing != null ? () -> existing
+							: () -> new MicrometerMetricsTrackerFactory(registry.getObject())));
+				}
+				return bean;
+			}
+		};
+	}
+
+	@Bean
+	AdaptivePoolSizer adaptivePoolSizer(List<HikariDataSource> dataSources, MeterRegistry registry,
+			ConnectionUsageRecorder connectionUsageRecorder,
+			@Value("${app.datasource.adaptive.min-size:5}") int minSize,
+			@Value("${app.datasource.adaptive.max-size:50}") int maxSize,
+			@Value("${app.datasource.adaptive.target-acquire:10ms}") Duration targetAcquire,
+			@Value("${app.datasource.adaptive.latency-tolerance:1.5}") double latencyTolerance) {
+		return new AdaptivePoolSizer(dataSources, registry, connectionUsageRecorder, minSize, maxSize,
+				targetAcquire.toNanos() / 1_000_000.0, latencyTolerance);
+	}
+
+}
@@ -0,0 +1,90 @@
+package com.project.config;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Polls the replica for its replay lag. The replica takes reads only while the last
+ * check succeeded and the lag was within the configured bound; a replica that is fully
+ * caught up, or a plain Postgres standing in for one, reports no lag. A standby whose WAL
+ * receiver is not streaming counts as unreachable: having replayed everything it received
+ * says nothing about how far behind the primary it is. Seeing the receiver status takes
+ * pg_read_all_stats; without it only the presence of a receiver process is checked.
+ */
+public class ReplicaLagMonitor {
+
+	private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+	private static final long NOT_STREAMING = -1;
+
+	private static final String REPLICA_LAG_MILLIS = """
+			SELECT CASE
+				WHEN NOT pg_is_in_recovery() THEN 0
+				WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE coalesce(status, 'streaming') = 'streaming') THEN -1
+				WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+				ELSE CAST(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 AS bigint)
+			END""";
+
+	private final JdbcTemplate replica;
+	private final long maxLagMillis;
+	private final AtomicLong lagMillis = new AtomicLong(-1);
+	private volatile boolean usable;
+
+	public ReplicaLagMonitor(JdbcTemplate replica, Duration maxLag, MeterRegistry registry) {
+		this.replica = replica;
+		this.maxLagMillis = maxLag.toMillis();
+		Gauge.builder("datasource.replica.lag", lagMillis, lag -> lag.get() / 1000.0)
+			.description("Replay lag of the read replica, -1 when it cannot be reached")
+			.baseUnit("seconds")
+			.register(registry);
+		Gauge.builder("datasource.replica.usable", this, monitor -> monitor.isReplicaUsable() ? 1 : 0)
+			.description("Whether read-only transactions are routed to the replica")
+			.register(registry);
+	}
+
+	@Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval:PT5S}")
+	public void check() {
+		try {
+			Long lag = replica.queryForObject(REPLICA_LAG_MILLIS, Long.class);
+			if (lag != null && lag == NOT_STREAMING) {
+				markUnavailable(new IllegalStateException("WAL receiver of the replica is not streaming"));
+				return;
+			}
+			long current = lag == null ? 0 : Math.max(0, lag);
+			lagMillis.set(current);
+			boolean wasUsable = usable;
+			usable = current <= maxLagMillis;
+			if (wasUsable && !usable) {
+				log.warn("Replica lag of {} ms is above {} ms, routing reads to the primary", current, maxLagMillis);
+			}
+		} catch (DataAccessException e) {
+			markUnavailable(e);
+		}
+	}
+
+	public boolean isReplicaUsable() {
+		return usable;
+	}
+
+	public void markUnavailable(Exception cause) {
+		lagMillis.set(-1);
+		if (usable) {
+			log.warn("Replica unavailable, routing reads to the primary until the next successful check", cause);
+		}
+		usable = false;
+	}
+
+	long lagMillis() {
+		return lagMillis.get();
+	}
+
+}
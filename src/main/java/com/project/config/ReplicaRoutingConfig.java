@@ -0,0 +1,80 @@
+package com.project.config;
+
+import java.sql.Connection;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Primary/replica routing, enabled by setting {@code app.datasource.replica.url}.
+ * The primary pool keeps the {@code spring.datasource.*} settings; the replica pool
+ * reuses its credentials unless overridden under {@code app.datasource.replica}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "url")
+public class ReplicaRoutingConfig {
+
+	@Bean
+	@ConfigurationProperties("spring.datasource.hikari")
+	HikariDataSource primaryDataSource(DataSourceProperties properties) {
+		HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		dataSource.setPoolName("primary");
+		return dataSource;
+	}
+
+	@Bean
+	@ConfigurationProperties("app.datasource.replica.hikari")
+	HikariDataSource replicaDataSource(DataSourceProperties properties,
+			@Value("${app.datasource.replica.url}") String url,
+			@Value("${app.datasource.replica.username:${spring.datasource.username}}") String username,
+			@Value("${app.datasource.replica.password:${spring.datasource.password}}") String password) {
+		HikariDataSource dataSource = DataSourceBuilder.create()
+				.type(HikariDataSource.class)
+				.driverClassName(properties.determineDriverClassName())
+				.url(url)
+				.username(username)
+				.password(password)
+				.build();
+		dataSource.setPoolName("replica");
+		dataSource.setReadOnly(true);
+		return dataSource;
+	}
+
+	@Bean
+	ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+			@Value("${app.datasource.replica.max-lag:PT5S}") Duration maxLag, MeterRegistry registry) {
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(replicaDataSource);
+		jdbcTemplate.setQueryTimeout(2);
+		return new ReplicaLagMonitor(jdbcTemplate, maxLag, registry);
+	}
+
+	@Bean
+	@Primary
+	DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+			@Qualifier("replicaDataSource") DataSource replicaDataSource, ReplicaLagMonitor replicaLagMonitor,
+			@Value("${app.datasource.replica.max-lag:PT5S}") Duration maxLag) {
+		LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy();
+		dataSource.setTargetDataSource(new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagMonitor, maxLag));
+		dataSource.setDefaultAutoCommit(true);
+		dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+		dataSource.afterPropertiesSet();
+		return dataSource;
+	}
+
+}
@@ -0,0 +1,147 @@
+package com.project.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary.
+ * It has to sit behind a LazyConnectionDataSourceProxy: the read-only flag of a
+ * transaction is only known once it has begun, after the transaction manager asked
+ * for its connection.
+ * <p>
+ * Reads stay on the primary while the replica is lagging or unreachable. A client that
+ * wrote within the last lag bound also reads from the primary, so it does not see the
+ * state before its own write: the first write transaction of a request sets a
+ * {@value #LAST_WRITE_COOKIE} cookie with the write time, and requests carrying a recent
+ * one are pinned to the primary. Clients that drop cookies, and reads outside a request,
+ * may lag behind their writes by up to the lag bound.
+ * <p>
+ * Reads whose result outlives the request, such as cache fills, run through
+ * {@link #onPrimary(Supplier)}: a lagging copy kept in a shared cache would be served to
+ * every client until it expires, not just for one lag bound.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+	static final String LAST_WRITE_COOKIE = "last-write";
+
+	private static final ThreadLocal<Boolean> PRIMARY_PINNED = new ThreadLocal<>();
+
+	private final DataSource primary;
+	private final DataSource replica;
+	private final ReplicaLagMonitor monitor;
+	private final Duration readYourWrites;
+
+	public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor monitor, Duration readYourWrites) {
+		this.primary = primary;
+		this.replica = replica;
+		this.monitor = monitor;
+		this.readYourWrites = readYourWrites;
+	}
+
+	/**
+	 * Runs {@code work} with every connection it opens taken from the primary. Without
+	 * replica routing this just runs {@code work}.
+	 */
+	public static <T> T onPrimary(Supplier<T> work) {
+		if (PRIMARY_PINNED.get() != null) {
+			return work.get();
+		}
+		PRIMARY_PINNED.set(Boolean.TRUE);
+		try {
+			return work.get();
+		} finally {
+			PRIMARY_PINNED.remove();
+		}
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		if (useReplica()) {
+			try {
+				return replica.getConnection();
+			} catch (SQLException e) {
+				monitor.markUnavailable(e);
+			}
+		}
+		return primary.getConnection();
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		if (useReplica()) {
+			try {
+				return replica.getConnection(username, password);
+			} catch (SQLException e) {
+				monitor.markUnavailable(e);
+			}
+		}
+		return primary.getConnection(username, password);
+	}
+
+	boolean useReplica() {
+		if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+			if (TransactionSynchronizationManager.isActualTransactionActive()) {
+				rememberWrite();
+			}
+			return false;
+		}
+		return PRIMARY_PINNED.get() == null && monitor.isReplicaUsable() && !wroteRecently();
+	}
+
+	private void rememberWrite() {
+		if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)
+				|| attributes.getAttribute(LAST_WRITE_COOKIE, RequestAttributes.SCOPE_REQUEST) != null) {
+			return;
+		}
+		long now = System.currentTimeMillis();
+		attributes.setAttribute(LAST_WRITE_COOKIE, now, RequestAttributes.SCOPE_REQUEST);
+		HttpServletResponse response = attributes.getResponse();
+		if (response != null && !response.isCommitted()) {
+			Cookie cookie = new Cookie(LAST_WRITE_COOKIE, Long.toString(now));
+			cookie.setPath("/");
+			cookie.setHttpOnly(true);
+			cookie.setMaxAge((int) Math.max(1, readYourWrites.plusMillis(999).toSeconds()));
+			response.addCookie(cookie);
+		}
+	}
+
+	private boolean wroteRecently() {
+		if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+			return false;
+		}
+		if (attributes.getAttribute(LAST_WRITE_COOKIE, RequestAttributes.SCOPE_REQUEST) instanceof Long written) {
+			return isRecent(written);
+		}
+		Cookie[] cookies = attributes.getRequest().getCookies();
+		if (cookies != null) {
+			for (Cookie cookie : cookies) {
+				if (LAST_WRITE_COOKIE.equals(cookie.getName())) {
+					try {
+						return isRecent(Long.parseLong(cookie.getValue()));
+					} catch (NumberFormatException e) {
+						return false;
+					}
+				}
+			}
+		}
+		return false;
+	}
+
+	private boolean isRecent(long writtenMillis) {
+		return Math.abs(System.currentTimeMillis() - writtenMillis) < readYourWrites.toMillis();
+	}
+
+}
@@ -1,14 +1,16 @@
 package com.project.config;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.context.annotation.Lazy;
 
 import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Info;
 
 @Configuration
-@EnableWebMvc
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Lazy
 public class SwaggerConfig {
 	
     @Bean
@@ -0,0 +1,28 @@
+package com.project.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class VirtualThreadsConfig {
+
+	@Bean
+	FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+			@Value("${app.virtual-threads.max-concurrent-requests:200}") int maxConcurrentRequests,
+			@Value("${app.virtual-threads.acquire-timeout:2s}") Duration acquireTimeout) {
+		FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+				new FilterRegistrationBean<>(new ConcurrencyLimitFilter(maxConcurrentRequests, acquireTimeout));
+		registration.addUrlPatterns("/api/*");
+		return registration;
+	}
+
+}
@@ -0,0 +1,55 @@
+package com.project.controllers;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.project.models.dtos.BulkRequest;
+import com.project.models.dtos.BulkResponse;
+import com.project.service.impl.CustomerBulkServiceImpl;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping(value = "api/v1/customers")
+public class CustomerBulkController {
+	
+	private static final Logger log = LoggerFactory.getLogger(CustomerBulkController.class);
+	
+	private final CustomerBulkServiceImpl customerBulkService;
+	
+	public CustomerBulkController(CustomerBulkServiceImpl customerBulkService) {
+		this.customerBulkService = customerBulkService;
+	}
+	
+	/**
+	 * Answered with 500 and the counts of the chunks already committed when a chunk fails;
+	 * those rows stay INATIVO, so the request can simply be sent again.
+	 */
+	@PostMapping(value = "/bulk/delete")
+	public ResponseEntity<BulkResponse> softDelete(@RequestBody BulkRequest request) {
+		log.debug("Receiving request in bulk softDelete");
+		return respond(customerBulkService.softDelete(request));
+	}
+	
+	/**
+	 * Answered with 500 and the counts of the chunks already committed when a chunk fails;
+	 * those rows stay toggled, so sending the same request again would toggle them back.
+	 */
+	@PostMapping(value = "/bulk/toggle")
+	public ResponseEntity<BulkResponse> toggleActivation(@RequestBody BulkRequest request) {
+		log.debug("Receiving request in bulk toggleActivation");
+		return respond(customerBulkService.toggleActivation(request));
+	}
+	
+	private static ResponseEntity<BulkResponse> respond(BulkResponse response) {
+		return response.error() == null ? ResponseEntity.ok(response)
+				: ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+	}
+
+}
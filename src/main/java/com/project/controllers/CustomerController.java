@@ -1,11 +1,21 @@
 package com.project.controllers;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 import org.mapstruct.factory.Mappers;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.data.domain.Page;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,50 +25,140 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.project.entities.Customer;
+import com.project.models.dtos.BatchItemResult;
+import com.project.models.dtos.BatchResponse;
+import com.project.models.dtos.CursorPage;
 import com.project.models.dtos.CustomerRequest;
 import com.project.models.dtos.CustomerResponse;
+import com.project.models.dtos.SlicePage;
 import com.project.models.mappers.CustomerMapper;
 import com.project.service.impl.CustomerServiceImpl;
+import com.project.utils.CustomerFields;
+import com.project.utils.CustomerFilter;
 import com.project.utils.PaginationRequest;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping(value = "api/v1/customers")
 public class CustomerController {
 	
 	private static final Logger log = LoggerFactory.getLogger(CustomerController.class);
 	
+	private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+	
 	private final CustomerServiceImpl customerService;
 	
+	private final ObjectMapper objectMapper;
+	
 	CustomerMapper mapper = Mappers.getMapper(CustomerMapper.class);
 	
-	public CustomerController(CustomerServiceImpl customerService) {
+	public CustomerController(CustomerServiceImpl customerService, ObjectMapper objectMapper) {
 		this.customerService = customerService;
+		this.objectMapper = objectMapper;
 	}
 	
 	@GetMapping
-	public ResponseEntity<Page<CustomerResponse>> findAll(PaginationRequest paginationRequest) {
-		log.info("Receiving request in findAll");
-		Page<Customer> customerPage = customerService.findAll(paginationRequest);
+	public ResponseEntity<Page<CustomerResponse>> findAll(PaginationRequest paginationRequest, CustomerFilter filter,
+			WebRequest request) {
+		log.debug("Receiving request in findAll");
+		Page<Customer> customerPage = customerService.findAll(paginationRequest, filter);
+		String eTag = pageETag(customerPage);
+		if(request.checkNotModified(eTag)) {
+			return null;
+		}
 		
 		Page<CustomerResponse> customerResponsePage = customerPage.map(mapper::toCustomerResponse);
 
-	    return ResponseEntity.ok(customerResponsePage);
+		ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(eTag);
+		customerPage.stream()
+			.map(Customer::getLastModified)
+			.filter(Objects::nonNull)
+			.max(Comparator.naturalOrder())
+			.ifPresent(response::lastModified);
+	    return response.body(customerResponsePage);
+	}
+	
+	@GetMapping(params = "fields")
+	public ResponseEntity<Page<Map<String, Object>>> findAllFields(PaginationRequest paginationRequest, CustomerFilter filter,
+			@RequestParam String fields) {
+		log.debug("Receiving request in findAll with fields: {}", fields);
+		return ResponseEntity.ok(customerService.findAll(paginationRequest, filter, CustomerFields.parse(fields)));
+	}
+	
+	@GetMapping(value = "/slice")
+	public ResponseEntity<SlicePage<CustomerResponse>> findSlice(PaginationRequest paginationRequest, CustomerFilter filter,
+			@RequestParam(defaultValue = "false") boolean approximateTotal) {
+		log.debug("Receiving request in findSlice");
+		SlicePage<Customer> customerSlice = customerService.findSlice(paginationRequest, filter, approximateTotal);
+		return ResponseEntity.ok(customerSlice.map(mapper::toCustomerResponse));
+	}
+	
+	@GetMapping(value = "/scroll")
+	public ResponseEntity<CursorPage<CustomerResponse>> findAllByCursor(PaginationRequest paginationRequest) {
+		log.debug("Receiving request in findAllByCursor");
+		CursorPage<Customer> customerPage = customerService.findAllByCursor(paginationRequest);
+		return ResponseEntity.ok(customerPage.map(mapper::toCustomerResponse));
+	}
+	
+	@GetMapping(value = "/search")
+	public ResponseEntity<Page<CustomerResponse>> search(@RequestParam("q") String query, PaginationRequest paginationRequest) {
+		log.debug("Receiving request in search with param: {}", query);
+		Page<Customer> customerPage = customerService.search(query, paginationRequest);
+		return ResponseEntity.ok(customerPage.map(mapper::toCustomerResponse));
+	}
+	
+	@GetMapping(value = "/export")
+	public ResponseEntity<StreamingResponseBody> exportAll() {
+		log.debug("Receiving request in exportAll");
+		ObjectWriter writer = objectMapper.writerFor(CustomerResponse.class)
+				.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+				.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+		StreamingResponseBody body = outputStream -> {
+			OutputStream buffered = new BufferedOutputStream(outputStream, 64 * 1024);
+			customerService.exportAll(customer -> {
+				try {
+					writer.writeValue(buffered, mapper.toCustomerResponse(customer));
+					buffered.write('\n');
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+			buffered.flush();
+		};
+		return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
 	}
 	
 	@GetMapping(value = "/{id}")
-	public ResponseEntity<CustomerResponse>findById(@PathVariable Long id) {
-		log.info("Receiving request in findById with param: {}", id);
-		CustomerResponse customer = mapper.toCustomerResponse(customerService.findById(id));
-		return ResponseEntity.ok().body(customer);
+	public ResponseEntity<CustomerResponse>findById(@PathVariable Long id, WebRequest request) {
+		log.debug("Receiving request in findById with param: {}", id);
+		Customer customer = customerService.findById(id);
+		String eTag = eTag(customer);
+		if(request.checkNotModified(eTag)) {
+			return null;
+		}
+		return ResponseEntity.ok().eTag(eTag).body(mapper.toCustomerResponse(customer));
+	}
+	
+	@GetMapping(value = "/{id}", params = "fields")
+	public ResponseEntity<Map<String, Object>> findByIdFields(@PathVariable Long id, @RequestParam String fields) {
+		log.debug("Receiving request in findById with params: {} and {}", id, fields);
+		return ResponseEntity.ok(customerService.findById(id, CustomerFields.parse(fields)));
 	}
 	
 	@PostMapping
 	public ResponseEntity<CustomerResponse> save(@RequestBody CustomerRequest customerRequest) {
-		log.info("Receiving request in save with param: {}", customerRequest);
+		log.debug("Receiving request in save with param: {}", customerRequest);
 		Customer customer = mapper.toCustomer(customerRequest);
 		customerService.save(customer);
 		URI uri = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}")
@@ -67,26 +167,62 @@ public class CustomerController {
 		return ResponseEntity.created(uri).body(savedCustomerResponse);
 	}
 	
+	@PostMapping(value = "/batch")
+	public ResponseEntity<BatchResponse> saveAll(@RequestBody List<CustomerRequest> customerRequests) {
+		log.debug("Receiving request in saveAll with {} records", customerRequests.size());
+		List<Customer> customers = customerRequests.stream().map(mapper::toCustomer).toList();
+		List<BatchItemResult> results = customerService.saveAll(customers);
+		return ResponseEntity.ok(BatchResponse.of(results));
+	}
+	
 	@PutMapping(value = "/{id}")
 	public ResponseEntity<CustomerResponse> update(@PathVariable Long id, @RequestBody CustomerRequest customerRequest) {
-		log.info("Receiving request in update with params: {} and {}", id, customerRequest);
+		log.debug("Receiving request in update with params: {} and {}", id, customerRequest);
 		Customer customer = mapper.toCustomer(customerRequest);
-		customerService.update(id, customer);
-		CustomerResponse updatedCustomerResponse = mapper.toCustomerResponse(customer);
-		return ResponseEntity.ok().body(updatedCustomerResponse);
+		Customer updatedCustomer = customerService.update(id, customer);
+		CustomerResponse updatedCustomerResponse = mapper.toCustomerResponse(updatedCustomer);
+		return ResponseEntity.ok().eTag(eTag(updatedCustomer)).body(updatedCustomerResponse);
 	}
 	
 	@DeleteMapping(value = "/{id}")
 	public ResponseEntity<String> delete(@PathVariable Long id) {
-		log.info("Receiving request in delete with param: {}", id);
+		log.debug("Receiving request in delete with param: {}", id);
 		String msg = customerService.delete(id);
 		return ResponseEntity.ok(msg);
 	}
 	
 	@PatchMapping(value = "/{id}")
 	public String toggleActivateAccount(@PathVariable Long id) {
-		log.info("Receiving request in toggleActivation with param: {}", id);
+		log.debug("Receiving request in toggleActivation with param: {}", id);
 		return customerService.toggleActivateAccount(id);
 	}
+	
+	/**
+	 * Strong ETag of a single customer: its id and row version. findById serves cached
+	 * customers, so a matching If-None-Match on a cached row is answered without a query.
+	 * The cache only holds committed rows and is evicted once a write commits, so the
+	 * version is always a committed one.
+	 */
+	private static String eTag(Customer customer) {
+		return customer.getId() + "-" + (customer.getVersion() == null ? 0 : customer.getVersion());
+	}
+	
+	/**
+	 * ETag of a page: its position, the total and the id and version of every row, so
+	 * any insert, update or removal affecting the page changes it.
+	 */
+	private static String pageETag(Page<Customer> page) {
+		long hash = mix(mix(mix(0, page.getNumber()), page.getSize()), page.getTotalElements());
+		for(Customer customer : page) {
+			hash = mix(mix(hash, customer.getId() == null ? 0 : customer.getId()),
+					customer.getVersion() == null ? 0 : customer.getVersion());
+		}
+		return "p-" + Long.toHexString(hash);
+	}
+	
+	private static long mix(long hash, long value) {
+		hash = (hash ^ value) * 0x9E3779B97F4A7C15L;
+		return hash ^ (hash >>> 32);
+	}
 
 }
@@ -0,0 +1,41 @@
+package com.project.controllers;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.project.models.dtos.ImportReport;
+import com.project.service.impl.CustomerImportServiceImpl;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping(value = "api/v1/customers")
+public class CustomerImportController {
+	
+	private static final Logger log = LoggerFactory.getLogger(CustomerImportController.class);
+	
+	private final CustomerImportServiceImpl customerImportService;
+	
+	public CustomerImportController(CustomerImportServiceImpl customerImportService) {
+		this.customerImportService = customerImportService;
+	}
+	
+	@PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+	public ResponseEntity<ImportReport> importCsv(@RequestParam("file") MultipartFile file) throws IOException {
+		log.info("Receiving request in importCsv with file: {}", file.getOriginalFilename());
+		try(InputStream input = file.getInputStream()) {
+			return ResponseEntity.ok(customerImportService.importCsv(input));
+		}
+	}
+
+}
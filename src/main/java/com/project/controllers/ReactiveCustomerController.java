@@ -0,0 +1,94 @@
+package com.project.controllers;
+
+import java.net.URI;
+
+import org.mapstruct.factory.Mappers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.project.entities.Customer;
+import com.project.models.dtos.CustomerRequest;
+import com.project.models.dtos.CustomerResponse;
+import com.project.models.mappers.CustomerMapper;
+import com.project.service.ReactiveCustomerService;
+import com.project.utils.CustomerFilter;
+import com.project.utils.PaginationRequest;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * The customer CRUD of {@link CustomerController} served by WebFlux when the application
+ * runs as a reactive web application (profile reactive).
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping(value = "api/v1/customers")
+public class ReactiveCustomerController {
+
+	private static final Logger log = LoggerFactory.getLogger(ReactiveCustomerController.class);
+
+	private final ReactiveCustomerService customerService;
+
+	CustomerMapper mapper = Mappers.getMapper(CustomerMapper.class);
+
+	public ReactiveCustomerController(ReactiveCustomerService customerService) {
+		this.customerService = customerService;
+	}
+
+	@GetMapping
+	public Mono<PagedModel<CustomerResponse>> findAll(PaginationRequest paginationRequest, CustomerFilter filter) {
+		log.debug("Receiving request in findAll");
+		return customerService.findAll(paginationRequest, filter)
+			.map(customerPage -> new PagedModel<>(customerPage.map(mapper::toCustomerResponse)));
+	}
+
+	@GetMapping(value = "/{id}")
+	public Mono<CustomerResponse> findById(@PathVariable Long id) {
+		log.debug("Receiving request in findById with param: {}", id);
+		return customerService.findById(id).map(mapper::toCustomerResponse);
+	}
+
+	@PostMapping
+	public Mono<ResponseEntity<CustomerResponse>> save(@RequestBody CustomerRequest customerRequest,
+			UriComponentsBuilder uriBuilder) {
+		log.debug("Receiving request in save with param: {}", customerRequest);
+		Customer customer = mapper.toCustomer(customerRequest);
+		return customerService.save(customer).map(savedCustomer -> {
+			URI uri = uriBuilder.path("/api/v1/customers/{id}").buildAndExpand(savedCustomer.getId()).toUri();
+			return ResponseEntity.created(uri).body(mapper.toCustomerResponse(savedCustomer));
+		});
+	}
+
+	@PutMapping(value = "/{id}")
+	public Mono<CustomerResponse> update(@PathVariable Long id, @RequestBody CustomerRequest customerRequest) {
+		log.debug("Receiving request in update with params: {} and {}", id, customerRequest);
+		Customer customer = mapper.toCustomer(customerRequest);
+		return customerService.update(id, customer).map(mapper::toCustomerResponse);
+	}
+
+	@DeleteMapping(value = "/{id}")
+	public Mono<String> delete(@PathVariable Long id) {
+		log.debug("Receiving request in delete with param: {}", id);
+		return customerService.delete(id);
+	}
+
+	@PatchMapping(value = "/{id}")
+	public Mono<String> toggleActivateAccount(@PathVariable Long id) {
+		log.debug("Receiving request in toggleActivation with param: {}", id);
+		return customerService.toggleActivateAccount(id);
+	}
+
+}
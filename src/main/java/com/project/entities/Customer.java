@@ -1,6 +1,7 @@
 package com.project.entities;
 
 import java.io.Serializable;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.Objects;
 
@@ -11,10 +12,16 @@ import com.project.models.enums.Datastate;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Email;
 
 @Entity
@@ -22,8 +29,12 @@ import jakarta.validation.constraints.Email;
 public class Customer implements Serializable {
 	private static final long serialVersionUID = -3049554521853549728L;
 	
+	public static final String ID_SEQUENCE = "tb_customer_seq";
+	public static final int ID_ALLOCATION_SIZE = 100;
+	
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customer_seq")
+	@SequenceGenerator(name = "customer_seq", sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
 	private Long id;
 	private String name;
 	@CPF
@@ -39,7 +50,12 @@ public class Customer implements Serializable {
 	@JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
 	private LocalDate registrationDate;
 	private Boolean active;
+	@Enumerated(EnumType.STRING)
+	@Column(length = 10)
 	private Datastate datastate;
+	@Version
+	private Long version;
+	private Instant lastModified;
 	
 	public Customer() {
 	}
@@ -146,6 +162,28 @@ public class Customer implements Serializable {
 		this.datastate = datastate;
 	}
 
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+
+	public Instant getLastModified() {
+		return lastModified;
+	}
+
+	public void setLastModified(Instant lastModified) {
+		this.lastModified = lastModified;
+	}
+
+	@PrePersist
+	@PreUpdate
+	void touch() {
+		lastModified = Instant.now();
+	}
+
 	@Override
 	public int hashCode() {
 		return Objects.hash(id);
@@ -0,0 +1,104 @@
+package com.project.entities;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+import com.project.models.enums.CustomerEventType;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+@Entity
+@Table(name = "tb_outbox_event")
+public class OutboxEvent implements Serializable {
+	private static final long serialVersionUID = 4417925032907416352L;
+	
+	@Id
+	@GeneratedValue(strategy = GenerationType.UUID)
+	private UUID id;
+	@Column(nullable = false)
+	private Long aggregateId;
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, length = 20)
+	private CustomerEventType eventType;
+	@Column(nullable = false, columnDefinition = "text")
+	private String payload;
+	@Column(nullable = false)
+	private Instant occurredAt;
+	
+	public OutboxEvent() {
+	}
+
+	public OutboxEvent(Long aggregateId, CustomerEventType eventType, String payload, Instant occurredAt) {
+		this.aggregateId = aggregateId;
+		this.eventType = eventType;
+		this.payload = payload;
+		this.occurredAt = occurredAt;
+	}
+
+	public UUID getId() {
+		return id;
+	}
+
+	public void setId(UUID id) {
+		this.id = id;
+	}
+
+	public Long getAggregateId() {
+		return aggregateId;
+	}
+
+	public void setAggregateId(Long aggregateId) {
+		this.aggregateId = aggregateId;
+	}
+
+	public CustomerEventType getEventType() {
+		return eventType;
+	}
+
+	public void setEventType(CustomerEventType eventType) {
+		this.eventType = eventType;
+	}
+
+	public String getPayload() {
+		return payload;
+	}
+
+	public void setPayload(String payload) {
+		this.payload = payload;
+	}
+
+	public Instant getOccurredAt() {
+		return occurredAt;
+	}
+
+	public void setOccurredAt(Instant occurredAt) {
+		this.occurredAt = occurredAt;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(id);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		OutboxEvent other = (OutboxEvent) obj;
+		return Objects.equals(id, other.id);
+	}
+
+}
@@ -2,8 +2,10 @@ package com.project.exceptions;
 
 import java.time.Instant;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -13,6 +15,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
 
 @ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class GlobalExceptionHandler extends ResponseEntityExceptionHandler{
 	
     @ExceptionHandler(ResourceNotFoundException.class)
@@ -31,6 +34,22 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler{
 		return ResponseEntity.status(status).body(err);
 	}
     
+    @ExceptionHandler(InvalidRequestException.class)
+	public ResponseEntity<StandardError> invalidArgument(InvalidRequestException e, HttpServletRequest request) {
+		String error  = "Invalid request";
+		HttpStatus status = HttpStatus.BAD_REQUEST;
+		StandardError err = new StandardError(Instant.now(), status.value(), error, e.getMessage(), request.getRequestURI());
+		return ResponseEntity.status(status).body(err);
+	}
+    
+    @ExceptionHandler(InvalidCursorException.class)
+	public ResponseEntity<StandardError> invalidCursor(InvalidCursorException e, HttpServletRequest request) {
+		String error  = "Invalid cursor";
+		HttpStatus status = HttpStatus.BAD_REQUEST;
+		StandardError err = new StandardError(Instant.now(), status.value(), error, e.getMessage(), request.getRequestURI());
+		return ResponseEntity.status(status).body(err);
+	}
+    
     @ExceptionHandler(DataIntegrityViolationException.class)
 	public ResponseEntity<StandardError> databaseError(DataIntegrityViolationException e, HttpServletRequest request) {
 		String error  = "Database error";
@@ -39,6 +58,14 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler{
 		return ResponseEntity.status(status).body(err);
 	}
     
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+	public ResponseEntity<StandardError> concurrentUpdate(ObjectOptimisticLockingFailureException e, HttpServletRequest request) {
+		String error  = "Concurrent update";
+		HttpStatus status = HttpStatus.CONFLICT;
+		StandardError err = new StandardError(Instant.now(), status.value(), error, "Registro alterado por outra requisição.", request.getRequestURI());
+		return ResponseEntity.status(status).body(err);
+	}
+    
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Object> generalExceptions(Exception e, HttpServletRequest request) {
 		String error  = "Not identified error";
@@ -0,0 +1,14 @@
+package com.project.exceptions;
+
+public class InvalidCursorException extends RuntimeException {
+	private static final long serialVersionUID = -2675019447351632705L;
+
+	public InvalidCursorException(String token) {
+		super("Invalid cursor: " + token);
+	}
+
+	public InvalidCursorException(String token, Throwable cause) {
+		super("Invalid cursor: " + token, cause);
+	}
+
+}
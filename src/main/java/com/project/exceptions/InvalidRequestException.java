@@ -0,0 +1,10 @@
+package com.project.exceptions;
+
+public class InvalidRequestException extends RuntimeException {
+	private static final long serialVersionUID = 4412937805912816538L;
+
+	public InvalidRequestException(String message) {
+		super(message);
+	}
+
+}
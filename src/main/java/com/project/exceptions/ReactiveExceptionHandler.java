@@ -0,0 +1,45 @@
+package com.project.exceptions;
+
+import java.time.Instant;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.server.ServerWebInputException;
+
+import jakarta.validation.ConstraintViolationException;
+
+@ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+	public ResponseEntity<StandardError> resourceNotFound(ResourceNotFoundException e, ServerHttpRequest request) {
+		return error(HttpStatus.NOT_FOUND, "Resource not found", e.getMessage(), request);
+	}
+
+    @ExceptionHandler({ConstraintViolationException.class, InvalidRequestException.class, ServerWebInputException.class})
+	public ResponseEntity<StandardError> invalidRequest(Exception e, ServerHttpRequest request) {
+		return error(HttpStatus.BAD_REQUEST, "Invalid request", e.getMessage(), request);
+	}
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+	public ResponseEntity<StandardError> databaseError(DataIntegrityViolationException e, ServerHttpRequest request) {
+		return error(HttpStatus.CONFLICT, "Database error", e.getMessage(), request);
+	}
+
+    @ExceptionHandler(Exception.class)
+	public ResponseEntity<StandardError> generalExceptions(Exception e, ServerHttpRequest request) {
+		return error(HttpStatus.INTERNAL_SERVER_ERROR, "Not identified error", e.getMessage(), request);
+	}
+
+	private static ResponseEntity<StandardError> error(HttpStatus status, String error, String message, ServerHttpRequest request) {
+		StandardError err = new StandardError(Instant.now(), status.value(), error, message, request.getPath().value());
+		return ResponseEntity.status(status).body(err);
+	}
+
+}
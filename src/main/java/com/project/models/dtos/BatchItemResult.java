@@ -0,0 +1,22 @@
+package com.project.models.dtos;
+
+import java.io.Serializable;
+
+import com.project.models.enums.BatchItemStatus;
+
+public record BatchItemResult (
+		int index,
+		Long id,
+		BatchItemStatus status,
+		String message
+		) implements Serializable {
+
+	public static BatchItemResult created(int index, Long id) {
+		return new BatchItemResult(index, id, BatchItemStatus.CREATED, null);
+	}
+
+	public static BatchItemResult rejected(int index, String message) {
+		return new BatchItemResult(index, null, BatchItemStatus.REJECTED, message);
+	}
+
+}
@@ -0,0 +1,20 @@
+package com.project.models.dtos;
+
+import java.io.Serializable;
+import java.util.List;
+
+import com.project.models.enums.BatchItemStatus;
+
+public record BatchResponse (
+		int total,
+		long created,
+		long rejected,
+		List<BatchItemResult> items
+		) implements Serializable {
+
+	public static BatchResponse of(List<BatchItemResult> items) {
+		long created = items.stream().filter(item -> item.status() == BatchItemStatus.CREATED).count();
+		return new BatchResponse(items.size(), created, items.size() - created, items);
+	}
+
+}
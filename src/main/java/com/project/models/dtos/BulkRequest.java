@@ -0,0 +1,15 @@
+package com.project.models.dtos;
+
+import java.util.List;
+
+import com.project.utils.CustomerFilter;
+
+/**
+ * Target of a bulk operation: either explicit ids or a filter over ATIVO customers.
+ */
+public record BulkRequest (
+		List<Long> ids,
+		CustomerFilter filter
+		) {
+
+}
@@ -0,0 +1,21 @@
+package com.project.models.dtos;
+
+import java.io.Serializable;
+
+/**
+ * {@code matched} is the number of distinct ids sent, or of customers matching the filter;
+ * {@code affected} the number of rows actually changed (ids that are missing or already
+ * INATIVO are not). Chunks commit one by one, so when one fails {@code error} is set and
+ * the counts cover only the chunks committed before it.
+ */
+public record BulkResponse (
+		long matched,
+		long affected,
+		String error
+		) implements Serializable {
+
+	public BulkResponse(long matched, long affected) {
+		this(matched, affected, null);
+	}
+
+}
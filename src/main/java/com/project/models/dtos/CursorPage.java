@@ -0,0 +1,19 @@
+package com.project.models.dtos;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.function.Function;
+
+public record CursorPage<T> (
+		List<T> content,
+		int size,
+		boolean hasNext,
+		String next
+		) implements Serializable {
+
+	public <R> CursorPage<R> map(Function<? super T, ? extends R> converter) {
+		List<R> converted = content.stream().<R>map(converter).toList();
+		return new CursorPage<>(converted, size, hasNext, next);
+	}
+
+}
@@ -0,0 +1,23 @@
+package com.project.models.dtos;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.UUID;
+
+import com.project.entities.OutboxEvent;
+import com.project.models.enums.CustomerEventType;
+
+public record CustomerEvent (
+		UUID id,
+		Long customerId,
+		CustomerEventType type,
+		Instant occurredAt,
+		String payload
+		) implements Serializable {
+
+	public static CustomerEvent of(OutboxEvent event) {
+		return new CustomerEvent(event.getId(), event.getAggregateId(), event.getEventType(),
+				event.getOccurredAt(), event.getPayload());
+	}
+
+}
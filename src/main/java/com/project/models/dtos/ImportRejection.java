@@ -0,0 +1,10 @@
+package com.project.models.dtos;
+
+import java.io.Serializable;
+
+public record ImportRejection (
+		long line,
+		String reason
+		) implements Serializable {
+
+}
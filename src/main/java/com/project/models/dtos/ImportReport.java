@@ -0,0 +1,13 @@
+package com.project.models.dtos;
+
+import java.io.Serializable;
+import java.util.List;
+
+public record ImportReport (
+		long total,
+		long imported,
+		long rejected,
+		List<ImportRejection> rejections
+		) implements Serializable {
+
+}
@@ -0,0 +1,20 @@
+package com.project.models.dtos;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.function.Function;
+
+public record SlicePage<T> (
+		List<T> content,
+		int page,
+		int size,
+		boolean hasNext,
+		Long approximateTotal
+		) implements Serializable {
+
+	public <R> SlicePage<R> map(Function<? super T, ? extends R> converter) {
+		List<R> converted = content.stream().<R>map(converter).toList();
+		return new SlicePage<>(converted, page, size, hasNext, approximateTotal);
+	}
+
+}
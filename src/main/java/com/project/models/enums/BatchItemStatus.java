@@ -0,0 +1,8 @@
+package com.project.models.enums;
+
+public enum BatchItemStatus {
+
+	CREATED,
+	REJECTED
+	
+}
@@ -0,0 +1,11 @@
+package com.project.models.enums;
+
+public enum CustomerEventType {
+
+	CREATED,
+	UPDATED,
+	DELETED,
+	ACTIVATED,
+	DEACTIVATED
+	
+}
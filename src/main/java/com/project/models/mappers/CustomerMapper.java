@@ -13,6 +13,8 @@ public interface CustomerMapper {
 	@Mapping(target = "active", ignore = true)
 	@Mapping(target = "datastate", ignore = true)
 	@Mapping(target = "registrationDate", ignore = true)
+	@Mapping(target = "version", ignore = true)
+	@Mapping(target = "lastModified", ignore = true)
 	Customer toCustomer(CustomerRequest customerRequest);
     
 	CustomerResponse toCustomerResponse(Customer customer);
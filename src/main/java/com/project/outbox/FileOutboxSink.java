@@ -0,0 +1,38 @@
+package com.project.outbox;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.models.dtos.CustomerEvent;
+
+/**
+ * Appends each event as one JSON line to a local file.
+ */
+public class FileOutboxSink implements OutboxSink {
+
+	private final Path path;
+	private final ObjectMapper objectMapper;
+
+	public FileOutboxSink(Path path, ObjectMapper objectMapper) {
+		this.path = path;
+		this.objectMapper = objectMapper;
+	}
+
+	@Override
+	public synchronized void publish(List<CustomerEvent> events) throws IOException {
+		try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+				StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+			for (CustomerEvent event : events) {
+				writer.write(objectMapper.writeValueAsString(event));
+				writer.newLine();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,40 @@
+package com.project.outbox;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+import com.project.models.dtos.CustomerEvent;
+
+/**
+ * Keeps the most recent events in memory, dropping the oldest beyond the capacity.
+ * Meant for local runs and tests.
+ */
+public class InMemoryOutboxSink implements OutboxSink {
+
+	private final int capacity;
+	private final Deque<CustomerEvent> events = new ArrayDeque<>();
+
+	public InMemoryOutboxSink(int capacity) {
+		this.capacity = capacity;
+	}
+
+	@Override
+	public synchronized void publish(List<CustomerEvent> batch) {
+		for (CustomerEvent event : batch) {
+			if (events.size() == capacity) {
+				events.removeFirst();
+			}
+			events.addLast(event);
+		}
+	}
+
+	public synchronized List<CustomerEvent> events() {
+		return List.copyOf(events);
+	}
+
+	public synchronized void clear() {
+		events.clear();
+	}
+
+}
@@ -0,0 +1,117 @@
+package com.project.outbox;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.project.entities.OutboxEvent;
+import com.project.models.dtos.CustomerEvent;
+import com.project.repositories.OutboxEventRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Drains the outbox in the background. Each batch is locked with SKIP LOCKED, handed to
+ * the sink and deleted in one transaction, so several instances can relay concurrently
+ * and a failed publish leaves the batch in place for the next run.
+ */
+@Component
+public class OutboxRelay {
+
+	private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+	private final OutboxEventRepository outboxEventRepository;
+	
+	private final OutboxSink sink;
+	
+	private final TransactionTemplate transactionTemplate;
+	
+	private final int batchSize;
+	
+	private final int maxBatchesPerRun;
+	
+	private final AtomicLong lagMillis = new AtomicLong();
+	
+	private final Counter published;
+	
+	private final Timer publishTimer;
+
+	public OutboxRelay(OutboxEventRepository outboxEventRepository, OutboxSink sink,
+			PlatformTransactionManager transactionManager, MeterRegistry registry,
+			@Value("${app.outbox.batch-size:500}") int batchSize,
+			@Value("${app.outbox.max-batches-per-run:100}") int maxBatchesPerRun) {
+		this.outboxEventRepository = outboxEventRepository;
+		this.sink = sink;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.batchSize = batchSize;
+		this.maxBatchesPerRun = maxBatchesPerRun;
+		this.published = Counter.builder("outbox.published").register(registry);
+		this.publishTimer = Timer.builder("outbox.publish").publishPercentiles(0.5, 0.99).register(registry);
+		Gauge.builder("outbox.lag", lagMillis, lag -> lag.get() / 1000.0)
+			.description("Age in seconds of the oldest event not yet relayed")
+			.baseUnit("seconds")
+			.register(registry);
+	}
+
+	@Scheduled(fixedDelayString = "${app.outbox.poll-interval:PT1S}")
+	public void relay() {
+		try {
+			for (int i = 0; i < maxBatchesPerRun; i++) {
+				Integer relayed = transactionTemplate.execute(status -> relayBatch());
+				if (relayed == null || relayed < batchSize) {
+					break;
+				}
+			}
+		} catch (RuntimeException e) {
+			log.warn("Outbox relay run failed, the pending events will be retried", e);
+		} finally {
+			updateLag();
+		}
+	}
+
+	private int relayBatch() {
+		List<OutboxEvent> batch = outboxEventRepository.lockNextBatch(batchSize);
+		if (batch.isEmpty()) {
+			return 0;
+		}
+		List<CustomerEvent> events = batch.stream().map(CustomerEvent::of).toList();
+		publishTimer.record(() -> {
+			try {
+				sink.publish(events);
+			} catch (RuntimeException e) {
+				throw e;
+			} catch (Exception e) {
+				throw new IllegalStateException("Outbox sink failed", e);
+			}
+		});
+		outboxEventRepository.deleteAllByIdInBatch(batch.stream().map(OutboxEvent::getId).toList());
+		published.increment(batch.size());
+		return batch.size();
+	}
+
+	private void updateLag() {
+		try {
+			Instant oldest = outboxEventRepository.findOldestOccurredAt();
+			lagMillis.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, Instant.now()).toMillis()));
+		} catch (RuntimeException e) {
+			log.warn("Could not measure outbox lag", e);
+		}
+	}
+
+	long lagMillis() {
+		return lagMillis.get();
+	}
+
+}
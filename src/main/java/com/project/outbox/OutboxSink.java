@@ -0,0 +1,16 @@
+package com.project.outbox;
+
+import java.util.List;
+
+import com.project.models.dtos.CustomerEvent;
+
+/**
+ * Destination of customer change events drained from the outbox. Delivery is
+ * at-least-once: a batch is published again if the relay fails before deleting it,
+ * so implementations should tolerate duplicates (events carry a stable id).
+ */
+public interface OutboxSink {
+
+	void publish(List<CustomerEvent> events) throws Exception;
+
+}
@@ -0,0 +1,52 @@
+package com.project.outbox;
+
+import java.time.Instant;
+
+import org.mapstruct.factory.Mappers;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.entities.Customer;
+import com.project.entities.OutboxEvent;
+import com.project.models.enums.CustomerEventType;
+import com.project.models.mappers.CustomerMapper;
+import com.project.repositories.OutboxEventRepository;
+
+/**
+ * Records a customer change in the outbox table. It must run inside the transaction
+ * that changes tb_customer, so the event is committed or rolled back with it.
+ */
+@Component
+public class OutboxWriter {
+
+	private final OutboxEventRepository outboxEventRepository;
+	
+	private final ObjectMapper objectMapper;
+	
+	CustomerMapper mapper = Mappers.getMapper(CustomerMapper.class);
+
+	public OutboxWriter(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+		this.outboxEventRepository = outboxEventRepository;
+		this.objectMapper = objectMapper;
+	}
+
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void record(CustomerEventType type, Customer customer) {
+		outboxEventRepository.save(new OutboxEvent(customer.getId(), type, toPayload(customer), Instant.now()));
+	}
+	
+	/**
+	 * The event payload: the customer as the API returns it.
+	 */
+	public String toPayload(Customer customer) {
+		try {
+			return objectMapper.writeValueAsString(mapper.toCustomerResponse(customer));
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("Could not serialize customer " + customer.getId(), e);
+		}
+	}
+
+}
@@ -1,11 +1,50 @@
 package com.project.repositories;
 
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.project.entities.Customer;
+import com.project.models.enums.Datastate;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
-public interface CustomerRepository extends JpaRepository<Customer, Long>{
+public interface CustomerRepository extends JpaRepository<Customer, Long>, JpaSpecificationExecutor<Customer>, CustomerRepositoryCustom {
+
+	String SEARCH_FILTER = """
+			FROM tb_customer c
+			WHERE c.datastate = 'ATIVO'
+			AND (c.name ILIKE :pattern OR c.email ILIKE :pattern OR c.city ILIKE :pattern
+				OR :q <% c.name OR :q <% c.email OR :q <% c.city)
+			""";
+
+	Page<Customer> findByDatastate(Datastate datastate, Pageable pageable);
+
+	boolean existsByCpfOrEmail(String cpf, String email);
+
+	@Query("select count(c) > 0 from Customer c where c.id <> :id and (c.cpf = :cpf or c.email = :email)")
+	boolean existsOtherByCpfOrEmail(@Param("id") Long id, @Param("cpf") String cpf, @Param("email") String email);
+
+	@Query(value = "SELECT c.* " + SEARCH_FILTER
+			+ "ORDER BY greatest(word_similarity(:q, c.name), word_similarity(:q, c.email), word_similarity(:q, c.city)) DESC, c.id",
+			countQuery = "SELECT count(*) " + SEARCH_FILTER,
+			nativeQuery = true)
+	Page<Customer> search(@Param("q") String query, @Param("pattern") String pattern, Pageable pageable);
+
+	@QueryHints({
+		@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+		@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+	})
+	@Query("select c from Customer c where c.datastate = :datastate order by c.id")
+	Stream<Customer> streamByDatastate(Datastate datastate);
 
 }
@@ -0,0 +1,48 @@
+package com.project.repositories;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.project.entities.Customer;
+import com.project.models.enums.Datastate;
+
+public interface CustomerRepositoryCustom {
+
+	/**
+	 * Writes the non-null contact fields of {@code changes} to the ATIVO customer with the
+	 * given id in a single UPDATE and returns the resulting row, or empty when there is no
+	 * such customer.
+	 */
+	Optional<Customer> updateActive(Long id, Customer changes);
+
+	/**
+	 * Reads {@code size + 1} rows to tell whether a next page exists, without the
+	 * {@code count(*)} a {@code Page} needs.
+	 */
+	Slice<Customer> findSlice(Specification<Customer> specification, Pageable pageable);
+
+	/**
+	 * Reads the rows after {@code position} ordered by {@code order} and then id, with the
+	 * rows whose sort key is null last, in id order. The keys of each row are its sort key,
+	 * null included, and its id. Unlike a derived keyset query, whose {@code key > :key}
+	 * predicate is never true for a null key, no row is skipped on a nullable column.
+	 */
+	Window<Customer> scrollByDatastate(Datastate datastate, KeysetScrollPosition position, Limit limit, Sort.Order order);
+
+	/**
+	 * Selects only the columns of the given properties, one map per row keyed by property
+	 * name in the given order, so no entity is hydrated or managed.
+	 */
+	Page<Map<String, Object>> findFields(Specification<Customer> specification, List<String> fields, Pageable pageable);
+
+}
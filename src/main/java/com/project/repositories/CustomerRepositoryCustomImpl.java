@@ -0,0 +1,207 @@
+package com.project.repositories;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.project.entities.Customer;
+import com.project.models.enums.Datastate;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+public class CustomerRepositoryCustomImpl implements CustomerRepositoryCustom {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	@Transactional
+	public Optional<Customer> updateActive(Long id, Customer changes) {
+		Map<String, Object> columns = new LinkedHashMap<>();
+		putIfPresent(columns, "name", changes.getName());
+		putIfPresent(columns, "cpf", changes.getCpf());
+		putIfPresent(columns, "email", changes.getEmail());
+		putIfPresent(columns, "phone", changes.getPhone());
+		putIfPresent(columns, "city", changes.getCity());
+		putIfPresent(columns, "state", changes.getState());
+		putIfPresent(columns, "country", changes.getCountry());
+
+		String sql;
+		List<Object> parameters = new ArrayList<>(columns.values());
+		if(columns.isEmpty()) {
+			sql = "SELECT * FROM tb_customer WHERE id = ?1 AND datastate = 'ATIVO'";
+		} else {
+			StringJoiner assignments = new StringJoiner(", ");
+			int position = 1;
+			for(String column : columns.keySet()) {
+				assignments.add(column + " = ?" + position++);
+			}
+			assignments.add("version = version + 1");
+			assignments.add("last_modified = now()");
+			sql = "UPDATE tb_customer SET " + assignments + " WHERE id = ?" + position + " AND datastate = 'ATIVO' RETURNING *";
+		}
+		parameters.add(id);
+
+		Query query = entityManager.createNativeQuery(sql, Customer.class);
+		for(int i = 0; i < parameters.size(); i++) {
+			query.setParameter(i + 1, parameters.get(i));
+		}
+		@SuppressWarnings("unchecked")
+		List<Customer> result = query.getResultList();
+		return result.stream().findFirst();
+	}
+
+	@Override
+	public Slice<Customer> findSlice(Specification<Customer> specification, Pageable pageable) {
+		CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Customer> query = builder.createQuery(Customer.class);
+		Root<Customer> root = query.from(Customer.class);
+		query.select(root)
+			.where(specification.toPredicate(root, query, builder))
+			.orderBy(QueryUtils.toOrders(pageable.getSort(), root, builder));
+
+		List<Customer> content = entityManager.createQuery(query)
+				.setFirstResult((int) pageable.getOffset())
+				.setMaxResults(pageable.getPageSize() + 1)
+				.getResultList();
+		boolean hasNext = content.size() > pageable.getPageSize();
+		return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+	}
+
+	@Override
+	public Window<Customer> scrollByDatastate(Datastate datastate, KeysetScrollPosition position, Limit limit, Sort.Order order) {
+		String field = order.getProperty();
+		boolean nullable = !"id".equals(field);
+		boolean afterNullKey = !position.isInitial() && nullable && position.getKeys().get(field) == null;
+		Map<String, Object> after = position.isInitial() ? null : position.getKeys();
+		int max = limit.max() + 1;
+
+		List<Customer> content = new ArrayList<>(max);
+		if(!afterNullKey) {
+			content.addAll(scroll(datastate, field, order.isAscending(), false, after, max));
+		}
+		if(nullable && content.size() < max) {
+			content.addAll(scroll(datastate, field, order.isAscending(), true, afterNullKey ? after : null, max - content.size()));
+		}
+		boolean hasNext = content.size() > limit.max();
+		List<Customer> window = hasNext ? content.subList(0, limit.max()) : content;
+		return Window.from(window, index -> ScrollPosition.forward(keys(window.get(index), field)), hasNext);
+	}
+
+	/**
+	 * One keyset query over either the rows with a non-null sort key, ordered by key and
+	 * id, or the rows with a null one, ordered by id.
+	 */
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	private List<Customer> scroll(Datastate datastate, String field, boolean ascending, boolean nullKeys,
+			Map<String, Object> after, int max) {
+		CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Customer> query = builder.createQuery(Customer.class);
+		Root<Customer> root = query.from(Customer.class);
+		Path<Long> id = root.get("id");
+		Path<Comparable> key = root.get(field);
+		boolean byId = nullKeys || "id".equals(field);
+
+		List<Predicate> predicates = new ArrayList<>();
+		predicates.add(builder.equal(root.get("datastate"), datastate));
+		if(!"id".equals(field)) {
+			predicates.add(nullKeys ? builder.isNull(key) : builder.isNotNull(key));
+		}
+		if(after != null) {
+			Long afterId = (Long) after.get("id");
+			Predicate idAfter = ascending ? builder.greaterThan(id, afterId) : builder.lessThan(id, afterId);
+			if(byId) {
+				predicates.add(idAfter);
+			} else {
+				Comparable afterKey = (Comparable) after.get(field);
+				predicates.add(builder.or(
+						ascending ? builder.greaterThan(key, afterKey) : builder.lessThan(key, afterKey),
+						builder.and(builder.equal(key, afterKey), idAfter)));
+			}
+		}
+		List<Order> orders = new ArrayList<>(2);
+		if(!byId) {
+			orders.add(ascending ? builder.asc(key) : builder.desc(key));
+		}
+		orders.add(ascending ? builder.asc(id) : builder.desc(id));
+		query.select(root).where(predicates.toArray(Predicate[]::new)).orderBy(orders);
+
+		return entityManager.createQuery(query)
+				.setMaxResults(max)
+				.getResultList();
+	}
+
+	private static Map<String, Object> keys(Customer customer, String field) {
+		Map<String, Object> keys = new LinkedHashMap<>();
+		keys.put(field, new BeanWrapperImpl(customer).getPropertyValue(field));
+		keys.put("id", customer.getId());
+		return keys;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Page<Map<String, Object>> findFields(Specification<Customer> specification, List<String> fields, Pageable pageable) {
+		CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Tuple> query = builder.createTupleQuery();
+		Root<Customer> root = query.from(Customer.class);
+		query.multiselect(fields.stream().<Selection<?>>map(field -> root.get(field).alias(field)).toList())
+			.where(specification.toPredicate(root, query, builder))
+			.orderBy(QueryUtils.toOrders(pageable.getSort(), root, builder));
+
+		List<Map<String, Object>> content = entityManager.createQuery(query)
+				.setFirstResult((int) pageable.getOffset())
+				.setMaxResults(pageable.getPageSize())
+				.getResultList()
+				.stream()
+				.map(tuple -> {
+					Map<String, Object> row = new LinkedHashMap<>();
+					fields.forEach(field -> row.put(field, tuple.get(field)));
+					return row;
+				})
+				.toList();
+		return PageableExecutionUtils.getPage(content, pageable, () -> count(specification));
+	}
+
+	private long count(Specification<Customer> specification) {
+		CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Long> query = builder.createQuery(Long.class);
+		Root<Customer> root = query.from(Customer.class);
+		query.select(builder.count(root)).where(specification.toPredicate(root, query, builder));
+		return entityManager.createQuery(query).getSingleResult();
+	}
+
+	private static void putIfPresent(Map<String, Object> columns, String column, String value) {
+		if(value != null) {
+			columns.put(column, value);
+		}
+	}
+
+}
@@ -0,0 +1,52 @@
+package com.project.repositories;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.project.entities.Customer;
+import com.project.models.enums.Datastate;
+import com.project.utils.CustomerFilter;
+
+import jakarta.persistence.criteria.Predicate;
+
+public final class CustomerSpecifications {
+
+	private CustomerSpecifications() {
+	}
+
+	/**
+	 * ATIVO customers matching every criterion set on the filter. Each combination is
+	 * served by one of the composite indexes in schema.sql.
+	 */
+	public static Specification<Customer> activeMatching(CustomerFilter filter) {
+		return (root, query, builder) -> {
+			List<Predicate> predicates = new ArrayList<>();
+			predicates.add(builder.equal(root.get("datastate"), Datastate.ATIVO));
+			if(filter.getCountry() != null) {
+				predicates.add(builder.equal(root.get("country"), filter.getCountry()));
+			}
+			if(filter.getState() != null) {
+				predicates.add(builder.equal(root.get("state"), filter.getState()));
+			}
+			if(filter.getCity() != null) {
+				predicates.add(builder.equal(root.get("city"), filter.getCity()));
+			}
+			if(filter.getActive() != null) {
+				predicates.add(builder.equal(root.get("active"), filter.getActive()));
+			}
+			return builder.and(predicates.toArray(Predicate[]::new));
+		};
+	}
+
+	/**
+	 * The customer with the given id, if it is ATIVO.
+	 */
+	public static Specification<Customer> activeWithId(Long id) {
+		return (root, query, builder) -> builder.and(
+				builder.equal(root.get("datastate"), Datastate.ATIVO),
+				builder.equal(root.get("id"), id));
+	}
+
+}
@@ -0,0 +1,23 @@
+package com.project.repositories;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.project.entities.OutboxEvent;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+
+	@Query(value = "SELECT * FROM tb_outbox_event ORDER BY occurred_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+	List<OutboxEvent> lockNextBatch(@Param("limit") int limit);
+
+	@Query("select min(e.occurredAt) from OutboxEvent e")
+	Instant findOldestOccurredAt();
+
+}
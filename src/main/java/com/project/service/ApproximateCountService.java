@@ -0,0 +1,9 @@
+package com.project.service;
+
+public interface ApproximateCountService {
+
+	Long activeCustomers();
+	
+	void refresh();
+	
+}
@@ -0,0 +1,12 @@
+package com.project.service;
+
+import com.project.models.dtos.BulkRequest;
+import com.project.models.dtos.BulkResponse;
+
+public interface CustomerBulkService {
+
+	BulkResponse softDelete(BulkRequest request);
+	
+	BulkResponse toggleActivation(BulkRequest request);
+	
+}
@@ -0,0 +1,11 @@
+package com.project.service;
+
+import java.io.InputStream;
+
+import com.project.models.dtos.ImportReport;
+
+public interface CustomerImportService {
+
+	ImportReport importCsv(InputStream input);
+	
+}
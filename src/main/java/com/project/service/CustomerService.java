@@ -1,18 +1,41 @@
 package com.project.service;
 
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
 import org.springframework.data.domain.Page;
 
 import com.project.entities.Customer;
+import com.project.models.dtos.BatchItemResult;
+import com.project.models.dtos.CursorPage;
+import com.project.models.dtos.SlicePage;
+import com.project.utils.CustomerFields;
+import com.project.utils.CustomerFilter;
 import com.project.utils.PaginationRequest;
 
 public interface CustomerService {
 
-	Page<Customer> findAll(PaginationRequest paginationRequest);
+	Page<Customer> findAll(PaginationRequest paginationRequest, CustomerFilter filter);
+	
+	Page<Map<String, Object>> findAll(PaginationRequest paginationRequest, CustomerFilter filter, CustomerFields fields);
+	
+	SlicePage<Customer> findSlice(PaginationRequest paginationRequest, CustomerFilter filter, boolean includeTotal);
+	
+	CursorPage<Customer> findAllByCursor(PaginationRequest paginationRequest);
+	
+	Page<Customer> search(String query, PaginationRequest paginationRequest);
+	
+	void exportAll(Consumer<Customer> consumer);
 	
 	Customer findById(Long id);
 	
+	Map<String, Object> findById(Long id, CustomerFields fields);
+	
 	Customer save(Customer customer);
 	
+	List<BatchItemResult> saveAll(List<Customer> customers);
+	
 	Customer update(Long id, Customer customer);
 	
 	String delete(Long id);
@@ -0,0 +1,17 @@
+package com.project.service;
+
+public interface CustomerUniquenessService {
+
+	boolean isDuplicate(String cpf, String email);
+	
+	/**
+	 * Whether a customer other than {@code id} already has the cpf or the email; either
+	 * may be null when an update does not change it.
+	 */
+	boolean isDuplicate(Long id, String cpf, String email);
+	
+	void register(String cpf, String email);
+	
+	void rebuild();
+	
+}
@@ -0,0 +1,25 @@
+package com.project.service;
+
+import org.springframework.data.domain.Page;
+
+import com.project.entities.Customer;
+import com.project.utils.CustomerFilter;
+import com.project.utils.PaginationRequest;
+
+import reactor.core.publisher.Mono;
+
+public interface ReactiveCustomerService {
+
+	Mono<Page<Customer>> findAll(PaginationRequest paginationRequest, CustomerFilter filter);
+
+	Mono<Customer> findById(Long id);
+
+	Mono<Customer> save(Customer customer);
+
+	Mono<Customer> update(Long id, Customer customer);
+
+	Mono<String> delete(Long id);
+
+	Mono<String> toggleActivateAccount(Long id);
+
+}
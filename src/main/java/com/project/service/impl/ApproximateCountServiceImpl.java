@@ -0,0 +1,54 @@
+package com.project.service.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.project.service.ApproximateCountService;
+
+/**
+ * Keeps an approximate number of ATIVO customers off the request path. The estimate is
+ * the planner's row count for the partial index over ATIVO rows, maintained by
+ * ANALYZE/autovacuum. Before the first ANALYZE it falls back to an exact count. A zero
+ * estimate is treated the same way: PostgreSQL before 14 reports 0 rather than -1 for a
+ * relation never analyzed, and counting a table that is really empty costs nothing.
+ */
+@Service
+public class ApproximateCountServiceImpl implements ApproximateCountService {
+	
+	private static final Logger log = LoggerFactory.getLogger(ApproximateCountServiceImpl.class);
+	
+	private static final String ESTIMATE_ACTIVE =
+			"SELECT CAST(reltuples AS bigint) FROM pg_class WHERE relname = 'idx_customer_ativo_name'";
+	
+	private static final String COUNT_ACTIVE = "SELECT count(*) FROM tb_customer WHERE datastate = 'ATIVO'";
+	
+	private final JdbcTemplate jdbcTemplate;
+	
+	private volatile Long activeCustomers;
+	
+	public ApproximateCountServiceImpl(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+	
+	public Long activeCustomers() {
+		return activeCustomers;
+	}
+	
+	@Scheduled(fixedDelayString = "${app.customers.approximate-count.refresh:PT1M}")
+	public void refresh() {
+		try {
+			Long estimate = jdbcTemplate.query(ESTIMATE_ACTIVE, rs -> rs.next() ? rs.getLong(1) : null);
+			if(estimate == null || estimate <= 0) {
+				estimate = jdbcTemplate.queryForObject(COUNT_ACTIVE, Long.class);
+			}
+			activeCustomers = estimate;
+		} catch(DataAccessException e) {
+			log.warn("Could not refresh the approximate customer count", e);
+		}
+	}
+
+}
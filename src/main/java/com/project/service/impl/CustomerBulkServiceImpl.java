@@ -0,0 +1,231 @@
+package com.project.service.impl;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.project.config.MetricsConfig;
+import com.project.exceptions.InvalidRequestException;
+import com.project.models.dtos.BulkRequest;
+import com.project.models.dtos.BulkResponse;
+import com.project.service.ApproximateCountService;
+import com.project.service.CustomerBulkService;
+import com.project.utils.CustomerFilter;
+
+import io.micrometer.core.annotation.Timed;
+
+/**
+ * Soft delete and activation toggle of many customers with one set-based UPDATE per chunk
+ * of ids instead of a SELECT and a full-row UPDATE per customer. Each chunk commits on its
+ * own, bumps the row versions, records one outbox event per changed row in the same
+ * statement and evicts the changed ids from the customer cache. A failing chunk stops the
+ * batch; the response then counts only the committed chunks and carries the error.
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class CustomerBulkServiceImpl implements CustomerBulkService {
+
+	private static final Logger log = LoggerFactory.getLogger(CustomerBulkServiceImpl.class);
+
+	private static final int MAX_IDS = 100_000;
+
+	private static final int CHUNK_SIZE = 1000;
+
+	/**
+	 * Above this many soft-deleted rows the table is analyzed once the batch is done, so
+	 * the planner and the approximate count see the shrunken ATIVO partial indexes without
+	 * waiting for autovacuum.
+	 */
+	private static final int ANALYZE_THRESHOLD = 10_000;
+
+	private static final String PARTIAL_FAILURE = "Lote interrompido por erro no banco; apenas os registros contados foram alterados.";
+
+	private static final String SOFT_DELETE = """
+			WITH changed AS (
+				UPDATE tb_customer SET datastate = 'INATIVO', version = version + 1, last_modified = now()
+				WHERE id = ANY(?) AND datastate = 'ATIVO'
+				RETURNING *
+			), events AS (
+				INSERT INTO tb_outbox_event (id, aggregate_id, event_type, payload, occurred_at)
+				SELECT gen_random_uuid(), c.id, 'DELETED', json_build_object(
+					'id', c.id, 'name', c.name, 'cpf', c.cpf, 'email', c.email, 'phone', c.phone,
+					'city', c.city, 'state', c.state, 'country', c.country,
+					'registrationDate', c.registration_date, 'active', c.active, 'datastate', c.datastate)::text,
+					now()
+				FROM changed c
+			)
+			SELECT id FROM changed""";
+
+	private static final String TOGGLE_ACTIVE = """
+			WITH changed AS (
+				UPDATE tb_customer SET active = NOT coalesce(active, false), version = version + 1, last_modified = now()
+				WHERE id = ANY(?) AND datastate = 'ATIVO'
+				RETURNING *
+			), events AS (
+				INSERT INTO tb_outbox_event (id, aggregate_id, event_type, payload, occurred_at)
+				SELECT gen_random_uuid(), c.id, CASE WHEN c.active THEN 'ACTIVATED' ELSE 'DEACTIVATED' END, json_build_object(
+					'id', c.id, 'name', c.name, 'cpf', c.cpf, 'email', c.email, 'phone', c.phone,
+					'city', c.city, 'state', c.state, 'country', c.country,
+					'registrationDate', c.registration_date, 'active', c.active, 'datastate', c.datastate)::text,
+					now()
+				FROM changed c
+			)
+			SELECT id FROM changed""";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private final CustomerCache customerCache;
+
+	private final ApproximateCountService approximateCountService;
+
+	private final Executor executor;
+
+	public CustomerBulkServiceImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+			CustomerCache customerCache, ApproximateCountService approximateCountService,
+			@Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor executor) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.customerCache = customerCache;
+		this.approximateCountService = approximateCountService;
+		this.executor = executor;
+	}
+
+	public BulkResponse softDelete(BulkRequest request) {
+		log.debug("Executing service bulk softDelete");
+		BulkResponse response = apply(SOFT_DELETE, request);
+		if(response.affected() > 0) {
+			refreshStatistics(response.affected());
+		}
+		log.debug("Bulk softDelete finished: {} matched, {} affected", response.matched(), response.affected());
+		return response;
+	}
+
+	public BulkResponse toggleActivation(BulkRequest request) {
+		log.debug("Executing service bulk toggleActivation");
+		BulkResponse response = apply(TOGGLE_ACTIVE, request);
+		log.debug("Bulk toggleActivation finished: {} matched, {} affected", response.matched(), response.affected());
+		return response;
+	}
+
+	/**
+	 * Every chunk has committed by now. The ANALYZE of a large delete and the count
+	 * refresh after it run on the task executor, outside the response time; a rejected
+	 * or failed run only leaves the statistics to autovacuum.
+	 */
+	private void refreshStatistics(long affected) {
+		try {
+			executor.execute(() -> {
+				if(affected >= ANALYZE_THRESHOLD) {
+					try {
+						jdbcTemplate.execute("ANALYZE tb_customer");
+					} catch(DataAccessException e) {
+						log.warn("Could not analyze tb_customer after a bulk delete", e);
+					}
+				}
+				approximateCountService.refresh();
+			});
+		} catch(RejectedExecutionException e) {
+			log.warn("Statistics refresh after a bulk delete was rejected", e);
+		}
+	}
+
+	private BulkResponse apply(String sql, BulkRequest request) {
+		List<Long> ids = request == null || request.ids() == null ? List.of()
+				: request.ids().stream().filter(Objects::nonNull).distinct().toList();
+		CustomerFilter filter = request == null ? null : request.filter();
+		boolean byFilter = filter != null && filter.hasCriteria();
+		if(ids.isEmpty() && !byFilter) {
+			throw new InvalidRequestException("Informe os ids ou ao menos um filtro.");
+		}
+		if(!ids.isEmpty() && byFilter) {
+			throw new InvalidRequestException("Informe os ids ou um filtro, não ambos.");
+		}
+		if(ids.size() > MAX_IDS) {
+			throw new InvalidRequestException("Lote excede o limite de " + MAX_IDS + " registros.");
+		}
+
+		long matched = 0;
+		long affected = 0;
+		try {
+			if(!byFilter) {
+				for(int start = 0; start < ids.size(); start += CHUNK_SIZE) {
+					List<Long> chunk = ids.subList(start, Math.min(start + CHUNK_SIZE, ids.size()));
+					affected += applyChunk(sql, chunk);
+					matched += chunk.size();
+				}
+				return new BulkResponse(matched, affected);
+			}
+
+			long after = Long.MIN_VALUE;
+			List<Long> chunk;
+			do {
+				chunk = nextMatching(filter, after);
+				if(!chunk.isEmpty()) {
+					affected += applyChunk(sql, chunk);
+					matched += chunk.size();
+					after = chunk.get(chunk.size() - 1);
+				}
+			} while(chunk.size() == CHUNK_SIZE);
+			return new BulkResponse(matched, affected);
+		} catch(DataAccessException | TransactionException e) {
+			log.warn("Bulk update stopped after {} matched, {} affected", matched, affected, e);
+			return new BulkResponse(matched, affected, PARTIAL_FAILURE);
+		}
+	}
+
+	private int applyChunk(String sql, List<Long> chunk) {
+		List<Long> changed = transactionTemplate.execute(status -> jdbcTemplate.query(sql,
+				statement -> statement.setArray(1, statement.getConnection().createArrayOf("bigint", chunk.toArray())),
+				(rs, rowNum) -> rs.getLong(1)));
+		changed.forEach(customerCache::evict);
+		return changed.size();
+	}
+
+	/**
+	 * The next ids, in id order after {@code after}, of the ATIVO customers matching the
+	 * filter. Walking by id keeps every customer in exactly one chunk even though the
+	 * toggle changes the {@code active} column the filter may be on.
+	 */
+	private List<Long> nextMatching(CustomerFilter filter, long after) {
+		StringBuilder sql = new StringBuilder("SELECT id FROM tb_customer WHERE datastate = 'ATIVO'");
+		List<Object> parameters = new ArrayList<>();
+		addCriterion(sql, parameters, "country", filter.getCountry());
+		addCriterion(sql, parameters, "state", filter.getState());
+		addCriterion(sql, parameters, "city", filter.getCity());
+		addCriterion(sql, parameters, "active", filter.getActive());
+		sql.append(" AND id > ? ORDER BY id LIMIT ").append(CHUNK_SIZE);
+		parameters.add(after);
+		return jdbcTemplate.query(sql.toString(), statement -> bind(statement, parameters), (rs, rowNum) -> rs.getLong(1));
+	}
+
+	private static void addCriterion(StringBuilder sql, List<Object> parameters, String column, Object value) {
+		if(value != null) {
+			sql.append(" AND ").append(column).append(" = ?");
+			parameters.add(value);
+		}
+	}
+
+	private static void bind(PreparedStatement statement, List<Object> parameters) throws SQLException {
+		for(int i = 0; i < parameters.size(); i++) {
+			statement.setObject(i + 1, parameters.get(i));
+		}
+	}
+
+}
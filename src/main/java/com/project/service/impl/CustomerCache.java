@@ -0,0 +1,168 @@
+package com.project.service.impl;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.project.config.CacheConfig;
+import com.project.config.ReplicaRoutingDataSource;
+import com.project.entities.Customer;
+import com.project.models.enums.Datastate;
+import com.project.utils.SingleFlight;
+
+/**
+ * The customers cache shared by the services. It holds immutable snapshots of committed
+ * rows and hands every caller its own detached {@link Customer}, so nothing a caller or a
+ * write transaction does to its instance is seen by anyone else.
+ * <p>
+ * Evictions made inside a transaction run after it commits. A load only populates the
+ * cache when it ran outside any transaction, read from the primary, and no eviction of
+ * the same id happened while it was reading, so neither a slow load nor a lagging replica
+ * can put back a row that a committed write has already replaced. Loads inside a
+ * transaction, which may see its uncommitted changes or a replica connection, are neither
+ * cached nor shared with concurrent callers.
+ */
+@Component
+public class CustomerCache {
+
+	private static final int GENERATION_STRIPES = 1024;
+
+	private final Cache cache;
+
+	/**
+	 * Eviction count per id stripe. Two ids sharing a stripe only cost a skipped put.
+	 */
+	private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+	private final SingleFlight<Long, Snapshot> lookups = new SingleFlight<>();
+
+	public CustomerCache(CacheManager cacheManager) {
+		this.cache = cacheManager.getCache(CacheConfig.CUSTOMERS);
+	}
+
+	/**
+	 * A copy of the cached customer, or null when it is not cached.
+	 */
+	public Customer get(Long id) {
+		Snapshot snapshot = cache.get(id, Snapshot.class);
+		return snapshot == null ? null : snapshot.toCustomer();
+	}
+
+	/**
+	 * A copy of the cached customer, loaded with {@code loader} on a miss. Concurrent misses
+	 * for the same id outside a transaction share one load, made on the primary.
+	 */
+	public Customer get(Long id, Supplier<Customer> loader) {
+		Customer cached = get(id);
+		if(cached != null) {
+			return cached;
+		}
+		if(TransactionSynchronizationManager.isActualTransactionActive()) {
+			return Snapshot.of(loader.get()).toCustomer();
+		}
+		return lookups.execute(id, () -> {
+			long generation = generation(id);
+			Snapshot loaded = Snapshot.of(ReplicaRoutingDataSource.onPrimary(loader));
+			put(id, loaded, generation);
+			return loaded;
+		}).toCustomer();
+	}
+
+	/**
+	 * To be read before a load whose result is passed to {@link #put(Long, Customer, long)}.
+	 */
+	public long generation(Long id) {
+		return generations.get(stripe(id));
+	}
+
+	/**
+	 * Caches {@code customer} unless {@code id} was evicted since {@code generation} was read.
+	 */
+	public void put(Long id, Customer customer, long generation) {
+		put(id, Snapshot.of(customer), generation);
+	}
+
+	/**
+	 * Evicts the customer once the current transaction commits, or right away when there is
+	 * none. Until the commit the cached row is still the committed one.
+	 */
+	public void evict(Long id) {
+		if(TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					evictNow(id);
+				}
+			});
+		} else {
+			evictNow(id);
+		}
+	}
+
+	public SingleFlight<Long, ?> lookups() {
+		return lookups;
+	}
+
+	private void put(Long id, Snapshot snapshot, long generation) {
+		if(generation(id) != generation) {
+			return;
+		}
+		cache.put(id, snapshot);
+		// an eviction between the check and the put may have run before the put landed
+		if(generation(id) != generation) {
+			cache.evict(id);
+		}
+	}
+
+	private void evictNow(Long id) {
+		generations.incrementAndGet(stripe(id));
+		cache.evict(id);
+	}
+
+	private static int stripe(Long id) {
+		return Math.floorMod(id.hashCode(), GENERATION_STRIPES);
+	}
+
+	private record Snapshot(
+			Long id,
+			String name,
+			String cpf,
+			String email,
+			String phone,
+			String city,
+			String state,
+			String country,
+			LocalDate registrationDate,
+			Boolean active,
+			Datastate datastate,
+			Long version,
+			Instant lastModified
+			) implements Serializable {
+
+		static Snapshot of(Customer customer) {
+			return new Snapshot(customer.getId(), customer.getName(), customer.getCpf(), customer.getEmail(),
+					customer.getPhone(), customer.getCity(), customer.getState(), customer.getCountry(),
+					customer.getRegistrationDate(), customer.getActive(), customer.getDatastate(),
+					customer.getVersion(), customer.getLastModified());
+		}
+
+		Customer toCustomer() {
+			Customer customer = new Customer(name, cpf, email, phone, city, state, country, registrationDate,
+					active, datastate);
+			customer.setId(id);
+			customer.setVersion(version);
+			customer.setLastModified(lastModified);
+			return customer;
+		}
+
+	}
+
+}
@@ -0,0 +1,281 @@
+package com.project.service.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.project.config.MetricsConfig;
+import com.project.entities.Customer;
+import com.project.exceptions.InvalidRequestException;
+import com.project.models.dtos.ImportRejection;
+import com.project.models.dtos.ImportReport;
+import com.project.service.CustomerImportService;
+import com.project.service.CustomerUniquenessService;
+import com.project.utils.CsvUtils;
+
+import io.micrometer.core.annotation.Timed;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class CustomerImportServiceImpl implements CustomerImportService {
+	
+	private static final Logger log = LoggerFactory.getLogger(CustomerImportServiceImpl.class);
+	
+	private static final int CHUNK_SIZE = 5000;
+	
+	private static final List<String> HEADER = List.of("name", "cpf", "email", "phone", "city", "state", "country");
+	
+	private static final int[] MAX_LENGTHS = {255, 14, 128, 255, 255, 255, 255};
+	
+	private static final String CREATE_STAGING = """
+			CREATE TEMP TABLE tmp_customer_import (
+				line bigint NOT NULL,
+				id bigint NOT NULL,
+				name varchar(255),
+				cpf varchar(14),
+				email varchar(128),
+				phone varchar(255),
+				city varchar(255),
+				state varchar(255),
+				country varchar(255)
+			) ON COMMIT DROP""";
+	
+	private static final String COPY_STAGING =
+			"COPY tmp_customer_import (line, id, name, cpf, email, phone, city, state, country) FROM STDIN WITH (FORMAT csv)";
+	
+	private static final String NEXT_ID_BLOCKS =
+			"SELECT nextval('" + Customer.ID_SEQUENCE + "') FROM generate_series(1, ?)";
+	
+	/**
+	 * Moves the staged rows into tb_customer and records a CREATED outbox event for each
+	 * row actually inserted, in the same statement. The update count is the number of
+	 * events written, i.e. the number of imported customers.
+	 */
+	private static final String MERGE_STAGING = """
+			WITH inserted AS (
+				INSERT INTO tb_customer (id, name, cpf, email, phone, city, state, country, registration_date, active, datastate,
+					version, last_modified)
+				SELECT id, name, cpf, email, phone, city, state, country, current_date, true, 'ATIVO', 0, now()
+				FROM tmp_customer_import
+				ORDER BY line
+				ON CONFLICT DO NOTHING
+				RETURNING *
+			)
+			INSERT INTO tb_outbox_event (id, aggregate_id, event_type, payload, occurred_at)
+			SELECT gen_random_uuid(), i.id, 'CREATED', json_build_object(
+				'id', i.id, 'name', i.name, 'cpf', i.cpf, 'email', i.email, 'phone', i.phone,
+				'city', i.city, 'state', i.state, 'country', i.country,
+				'registrationDate', i.registration_date, 'active', i.active, 'datastate', i.datastate)::text,
+				now()
+			FROM inserted i""";
+	
+	private static final String SELECT_CONFLICTS = """
+			SELECT s.line FROM tmp_customer_import s
+			WHERE NOT EXISTS (SELECT 1 FROM tb_customer c WHERE c.id = s.id)
+			ORDER BY s.line""";
+	
+	private final JdbcTemplate jdbcTemplate;
+	
+	private final TransactionTemplate transactionTemplate;
+	
+	private final Validator validator;
+	
+	private final CustomerUniquenessService uniquenessService;
+	
+	public CustomerImportServiceImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, Validator validator,
+			CustomerUniquenessService uniquenessService) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.validator = validator;
+		this.uniquenessService = uniquenessService;
+	}
+	
+	public ImportReport importCsv(InputStream input) {
+		log.info("Executing service importCsv");
+		return transactionTemplate.execute(status ->
+				jdbcTemplate.execute((ConnectionCallback<ImportReport>) connection -> importCsv(connection, input)));
+	}
+	
+	private ImportReport importCsv(Connection connection, InputStream input) throws SQLException {
+		CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+		try(Statement statement = connection.createStatement()) {
+			statement.execute(CREATE_STAGING);
+		}
+		
+		List<ImportRejection> rejections = new ArrayList<>();
+		long total = 0;
+		try(BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+			checkHeader(reader.readLine());
+			List<CsvLine> chunk = new ArrayList<>(CHUNK_SIZE);
+			long lineNumber = 1;
+			String text;
+			while((text = reader.readLine()) != null) {
+				lineNumber++;
+				if(text.isBlank()) {
+					continue;
+				}
+				total++;
+				chunk.add(new CsvLine(lineNumber, text));
+				if(chunk.size() == CHUNK_SIZE) {
+					stageChunk(connection, copyManager, chunk, rejections);
+					chunk.clear();
+				}
+			}
+			stageChunk(connection, copyManager, chunk, rejections);
+		} catch(IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		
+		int imported;
+		try(Statement statement = connection.createStatement()) {
+			imported = statement.executeUpdate(MERGE_STAGING);
+			try(ResultSet conflicts = statement.executeQuery(SELECT_CONFLICTS)) {
+				while(conflicts.next()) {
+					rejections.add(new ImportRejection(conflicts.getLong(1), "Registro já existe no banco de dados."));
+				}
+			}
+		}
+		rejections.sort(Comparator.comparingLong(ImportRejection::line));
+		log.info("Import finished: {} lines, {} imported, {} rejected", total, imported, rejections.size());
+		return new ImportReport(total, imported, rejections.size(), rejections);
+	}
+	
+	private void checkHeader(String header) {
+		List<String> columns = header == null ? List.of() : CsvUtils.parseLine(header.replace("\uFEFF", "")).stream()
+				.map(column -> column.trim().toLowerCase())
+				.toList();
+		if(!HEADER.equals(columns)) {
+			throw new InvalidRequestException("Cabeçalho inválido. Esperado: " + String.join(",", HEADER));
+		}
+	}
+	
+	private void stageChunk(Connection connection, CopyManager copyManager, List<CsvLine> chunk,
+			List<ImportRejection> rejections) throws SQLException, IOException {
+		if(chunk.isEmpty()) {
+			return;
+		}
+		List<ParsedLine> parsed = chunk.parallelStream().map(this::parse).toList();
+		List<ParsedLine> valid = new ArrayList<>(parsed.size());
+		for(ParsedLine line : parsed) {
+			if(line.reason() == null) {
+				valid.add(line);
+			} else {
+				rejections.add(new ImportRejection(line.number(), line.reason()));
+			}
+		}
+		if(valid.isEmpty()) {
+			return;
+		}
+		
+		List<Long> ids = allocateIds(connection, valid.size());
+		StringBuilder out = new StringBuilder(valid.size() * 128);
+		for(int i = 0; i < valid.size(); i++) {
+			out.append(valid.get(i).number()).append(',').append(ids.get(i));
+			for(String field : valid.get(i).fields()) {
+				out.append(',');
+				CsvUtils.appendField(out, field);
+			}
+			out.append('\n');
+		}
+		copyManager.copyIn(COPY_STAGING, new StringReader(out.toString()));
+		// Rows skipped by ON CONFLICT clash with values already stored, and a rollback only leaves false positives.
+		valid.forEach(line -> uniquenessService.register(line.fields().get(1), line.fields().get(2)));
+	}
+	
+	private ParsedLine parse(CsvLine line) {
+		List<String> fields;
+		try {
+			fields = CsvUtils.parseLine(line.text()).stream()
+					.map(field -> field.isBlank() ? null : field.trim())
+					.toList();
+		} catch(IllegalArgumentException e) {
+			return ParsedLine.rejected(line.number(), e.getMessage());
+		}
+		if(fields.size() != HEADER.size()) {
+			return ParsedLine.rejected(line.number(), "Número de colunas inválido: " + fields.size());
+		}
+		for(int i = 0; i < fields.size(); i++) {
+			if(fields.get(i) != null && fields.get(i).length() > MAX_LENGTHS[i]) {
+				return ParsedLine.rejected(line.number(), HEADER.get(i) + ": tamanho máximo " + MAX_LENGTHS[i]);
+			}
+		}
+		if(fields.get(1) == null || fields.get(2) == null) {
+			return ParsedLine.rejected(line.number(), "cpf e email são obrigatórios");
+		}
+		
+		Customer customer = new Customer(fields.get(0), fields.get(1), fields.get(2), fields.get(3),
+				fields.get(4), fields.get(5), fields.get(6), null, null, null);
+		Set<ConstraintViolation<Customer>> violations = validator.validate(customer);
+		if(!violations.isEmpty()) {
+			return ParsedLine.rejected(line.number(), violations.stream()
+					.map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+					.sorted()
+					.collect(Collectors.joining("; ")));
+		}
+		return new ParsedLine(line.number(), fields, null);
+	}
+	
+	/**
+	 * Reserves ids the same way Hibernate's pooled optimizer does: each nextval call
+	 * owns the block (value - allocationSize, value], so imported rows never collide
+	 * with ids handed out by the application. The first value of a fresh sequence only
+	 * owns itself; when Hibernate gets it instead, it takes the block of its next call
+	 * down to that value, and the two never overlap either.
+	 */
+	private List<Long> allocateIds(Connection connection, int count) throws SQLException {
+		List<Long> ids = new ArrayList<>(count);
+		try(PreparedStatement statement = connection.prepareStatement(NEXT_ID_BLOCKS)) {
+			while(ids.size() < count) {
+				statement.setInt(1, (count - ids.size() + Customer.ID_ALLOCATION_SIZE - 1) / Customer.ID_ALLOCATION_SIZE);
+				try(ResultSet blocks = statement.executeQuery()) {
+					while(blocks.next()) {
+						long hi = blocks.getLong(1);
+						for(long id = Math.max(1, hi - Customer.ID_ALLOCATION_SIZE + 1); id <= hi && ids.size() < count; id++) {
+							ids.add(id);
+						}
+					}
+				}
+			}
+		}
+		return ids;
+	}
+	
+	private record CsvLine(long number, String text) {
+	}
+	
+	private record ParsedLine(long number, List<String> fields, String reason) {
+		
+		static ParsedLine rejected(long number, String reason) {
+			return new ParsedLine(number, null, reason);
+		}
+		
+	}
+
+}
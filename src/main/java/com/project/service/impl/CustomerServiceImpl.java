@@ -1,59 +1,201 @@
 package com.project.service.impl;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.project.config.MetricsConfig;
 import com.project.entities.Customer;
+import com.project.exceptions.InvalidCursorException;
+import com.project.exceptions.InvalidRequestException;
 import com.project.exceptions.ResourceNotFoundException;
+import com.project.models.dtos.BatchItemResult;
+import com.project.models.dtos.CursorPage;
+import com.project.models.dtos.SlicePage;
+import com.project.models.enums.CustomerEventType;
 import com.project.models.enums.Datastate;
+import com.project.outbox.OutboxWriter;
 import com.project.repositories.CustomerRepository;
+import com.project.repositories.CustomerSpecifications;
+import com.project.service.ApproximateCountService;
 import com.project.service.CustomerService;
+import com.project.service.CustomerUniquenessService;
+import com.project.utils.CursorCodec;
+import com.project.utils.CustomerFields;
+import com.project.utils.CustomerFilter;
 import com.project.utils.PaginationRequest;
+import com.project.utils.SingleFlight;
 
-import jakarta.persistence.EntityNotFoundException;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
 
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class CustomerServiceImpl implements CustomerService {
 	
 	private static final Logger log = LoggerFactory.getLogger(CustomerServiceImpl.class);
 	
+	private static final int MAX_BATCH_SIZE = 5000;
+	
+	private static final int BATCH_CHUNK_SIZE = 500;
+	
+	private static final int MIN_SEARCH_LENGTH = 3;
+	
+	private static final String DUPLICATE_MESSAGE = "Registro já existe no banco de dados.";
+	
 	private final CustomerRepository customerRepository;
 	
-	public CustomerServiceImpl(CustomerRepository customerRepository) {
+	private final CustomerCache customerCache;
+	
+	private final Validator validator;
+	
+	private final TransactionTemplate transactionTemplate;
+	
+	private final EntityManager entityManager;
+	
+	private final ApproximateCountService approximateCountService;
+	
+	private final OutboxWriter outboxWriter;
+	
+	private final CustomerUniquenessService uniquenessService;
+	
+	public CustomerServiceImpl(CustomerRepository customerRepository, CustomerCache customerCache,
+			Validator validator, PlatformTransactionManager transactionManager, EntityManager entityManager,
+			ApproximateCountService approximateCountService, OutboxWriter outboxWriter,
+			CustomerUniquenessService uniquenessService, MeterRegistry meterRegistry) {
 		this.customerRepository = customerRepository;
+		this.customerCache = customerCache;
+		this.validator = validator;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.entityManager = entityManager;
+		this.approximateCountService = approximateCountService;
+		this.outboxWriter = outboxWriter;
+		this.uniquenessService = uniquenessService;
+		FunctionCounter.builder("customer.lookup", customerCache.lookups(), SingleFlight::executed)
+			.description("Customer lookups that reached the database")
+			.tag("result", "executed")
+			.register(meterRegistry);
+		FunctionCounter.builder("customer.lookup", customerCache.lookups(), SingleFlight::coalesced)
+			.description("Customer lookups served by a concurrent in-flight lookup")
+			.tag("result", "coalesced")
+			.register(meterRegistry);
+	}
+	
+	public Page<Customer> findAll(PaginationRequest paginationRequest, CustomerFilter filter) {
+		log.debug("Executing service findAll");
+		PageRequest pageRequest = toPageRequest(paginationRequest);
+		if(filter == null || !filter.hasCriteria()) {
+			return customerRepository.findByDatastate(Datastate.ATIVO, pageRequest);
+		}
+		return customerRepository.findAll(CustomerSpecifications.activeMatching(filter), pageRequest);
 	}
 	
-	public Page<Customer> findAll(PaginationRequest paginationRequest) {
-		log.info("Executing service findAll");
-	    PageRequest pageRequest = PageRequest.of(
+	public Page<Map<String, Object>> findAll(PaginationRequest paginationRequest, CustomerFilter filter, CustomerFields fields) {
+		log.debug("Executing service findAll with fields: {}", fields.names());
+		CustomerFilter criteria = filter == null ? new CustomerFilter() : filter;
+		return customerRepository.findFields(CustomerSpecifications.activeMatching(criteria), fields.names(),
+				toPageRequest(paginationRequest));
+	}
+	
+	public SlicePage<Customer> findSlice(PaginationRequest paginationRequest, CustomerFilter filter, boolean includeTotal) {
+		log.debug("Executing service findSlice");
+		CustomerFilter criteria = filter == null ? new CustomerFilter() : filter;
+		Slice<Customer> slice = customerRepository.findSlice(CustomerSpecifications.activeMatching(criteria),
+				toPageRequest(paginationRequest));
+		Long approximateTotal = includeTotal && !criteria.hasCriteria() ? approximateCountService.activeCustomers() : null;
+		return new SlicePage<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext(), approximateTotal);
+	}
+	
+	private PageRequest toPageRequest(PaginationRequest paginationRequest) {
+		return PageRequest.of(
 	            paginationRequest.getPage(),
 	            paginationRequest.getSize(),
 	            Sort.by(Sort.Direction.fromString(paginationRequest.getSortDirection()), paginationRequest.getSortField())
 	        );
-		Page<Customer> customerPage = customerRepository.findAll(pageRequest);
+	}
+	
+	public CursorPage<Customer> findAllByCursor(PaginationRequest paginationRequest) {
+		log.debug("Executing service findAllByCursor");
+		String sortField = paginationRequest.getSortField();
+		if(!CursorCodec.isKey(sortField)) {
+			throw new InvalidRequestException("Campo de ordenação inválido: " + sortField);
+		}
+		Sort.Direction direction = Sort.Direction.fromOptionalString(paginationRequest.getSortDirection())
+				.orElseThrow(() -> new InvalidRequestException("Direção de ordenação inválida: " + paginationRequest.getSortDirection()));
+		String after = paginationRequest.getAfter();
+		KeysetScrollPosition position = ScrollPosition.keyset();
+		if(after != null && !after.isBlank()) {
+			Map<String, Object> keys = CursorCodec.decode(after);
+			if(!keys.containsKey(sortField)) {
+				throw new InvalidCursorException(after);
+			}
+			position = ScrollPosition.forward(keys);
+		}
+		Window<Customer> window = customerRepository.scrollByDatastate(
+				Datastate.ATIVO, position, Limit.of(paginationRequest.getSize()), new Sort.Order(direction, sortField));
 
-        List<Customer> activeCustomers = customerPage.getContent().stream()
-            .filter(customer -> customer.getDatastate() == Datastate.ATIVO)
-            .collect(Collectors.toList());
+		String next = null;
+		if (window.hasNext() && !window.isEmpty()) {
+			KeysetScrollPosition last = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+			next = CursorCodec.encode(last.getKeys());
+		}
+		return new CursorPage<>(window.getContent(), paginationRequest.getSize(), next != null, next);
+	}
 
-        return new PageImpl<>(activeCustomers, customerPage.getPageable(), customerPage.getTotalElements());
+	public Page<Customer> search(String query, PaginationRequest paginationRequest) {
+		log.debug("Executing service search with param: {}", query);
+		String term = query == null ? "" : query.trim();
+		if(term.length() < MIN_SEARCH_LENGTH) {
+			throw new InvalidRequestException("A busca deve ter ao menos " + MIN_SEARCH_LENGTH + " caracteres.");
+		}
+		String pattern = "%" + term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+		PageRequest pageRequest = PageRequest.of(paginationRequest.getPage(), paginationRequest.getSize());
+		return customerRepository.search(term, pattern, pageRequest);
+	}
+	
+	@Transactional(readOnly = true)
+	public void exportAll(Consumer<Customer> consumer) {
+		log.debug("Executing service exportAll");
+		try(Stream<Customer> customers = customerRepository.streamByDatastate(Datastate.ATIVO)) {
+			customers.forEach(customer -> {
+				consumer.accept(customer);
+				entityManager.detach(customer);
+			});
+		}
 	}
 
 	public Customer findById(Long id) {
-		log.info("Executing service findById with param: {}", id);
-		Customer customer = customerRepository.findById(id)
-			.orElseThrow(() -> new ResourceNotFoundException(id));
+		log.debug("Executing service findById with param: {}", id);
+		Customer customer = customerCache.get(id, () -> customerRepository.findById(id)
+			.orElseThrow(() -> new ResourceNotFoundException(id)));
 		if(customer.getDatastate() != null && customer.getDatastate() == Datastate.ATIVO) {
 			return customer;
 		} else {
@@ -61,53 +203,167 @@ public class CustomerServiceImpl implements CustomerService {
 		}
 	}
 	
+	/**
+	 * Only the requested fields of an ATIVO customer. A cached customer is projected in
+	 * memory; otherwise only the requested columns are read, and the partial row is not
+	 * cached.
+	 */
+	public Map<String, Object> findById(Long id, CustomerFields fields) {
+		log.debug("Executing service findById with params: {} and {}", id, fields.names());
+		Customer customer = customerCache.get(id);
+		if(customer != null) {
+			if(customer.getDatastate() != Datastate.ATIVO) {
+				throw new ResourceNotFoundException(id);
+			}
+			return fields.project(customer);
+		}
+		return customerRepository.findFields(CustomerSpecifications.activeWithId(id), fields.names(), PageRequest.of(0, 1))
+			.stream()
+			.findFirst()
+			.orElseThrow(() -> new ResourceNotFoundException(id));
+	}
+	
+	@Transactional
 	public Customer save(Customer customer) {
-		log.info("Executing service save with param: {}", customer);
+		log.debug("Executing service save with param: {}", customer);
+		if(customer.getRegistrationDate() == null) {
+			customer.setRegistrationDate(LocalDate.now());
+			customer.setActive(true);
+			customer.setDatastate(Datastate.ATIVO);
+		}
+		if(uniquenessService.isDuplicate(customer.getCpf(), customer.getEmail())) {
+			throw new DataIntegrityViolationException(DUPLICATE_MESSAGE);
+		}
+		Customer savedCustomer;
 		try {
-			if(customer.getRegistrationDate() == null) {
-				customer.setRegistrationDate(LocalDate.now());
-				customer.setActive(true);
-				customer.setDatastate(Datastate.ATIVO);
+			savedCustomer = customerRepository.save(customer);
+			customerRepository.flush();
+		} catch(DataIntegrityViolationException e) {
+			throw new DataIntegrityViolationException(DUPLICATE_MESSAGE, e);
+		}
+		uniquenessService.register(savedCustomer.getCpf(), savedCustomer.getEmail());
+		outboxWriter.record(CustomerEventType.CREATED, savedCustomer);
+		evict(savedCustomer);
+		return savedCustomer;
+	}
+	
+	public List<BatchItemResult> saveAll(List<Customer> customers) {
+		log.debug("Executing service saveAll with {} records", customers.size());
+		if(customers.size() > MAX_BATCH_SIZE) {
+			throw new InvalidRequestException("Lote excede o limite de " + MAX_BATCH_SIZE + " registros.");
+		}
+		BatchItemResult[] results = new BatchItemResult[customers.size()];
+		List<Integer> validIndexes = new ArrayList<>();
+		for(int i = 0; i < customers.size(); i++) {
+			Customer customer = customers.get(i);
+			customer.setId(null);
+			customer.setVersion(null);
+			customer.setRegistrationDate(LocalDate.now());
+			customer.setActive(true);
+			customer.setDatastate(Datastate.ATIVO);
+			Set<ConstraintViolation<Customer>> violations = validator.validate(customer);
+			if(violations.isEmpty() && uniquenessService.isDuplicate(customer.getCpf(), customer.getEmail())) {
+				results[i] = BatchItemResult.rejected(i, DUPLICATE_MESSAGE);
+			} else if(violations.isEmpty()) {
+				validIndexes.add(i);
+			} else {
+				results[i] = BatchItemResult.rejected(i, violations.stream()
+						.map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+						.sorted()
+						.collect(Collectors.joining("; ")));
 			}
-		} catch(ConstraintViolationException e) {
-			throw new ConstraintViolationException("Erro ao validar dados de entrada.", null);
+		}
+		for(int start = 0; start < validIndexes.size(); start += BATCH_CHUNK_SIZE) {
+			saveChunk(customers, validIndexes.subList(start, Math.min(start + BATCH_CHUNK_SIZE, validIndexes.size())), results);
+		}
+		return Arrays.asList(results);
+	}
+	
+	private void saveChunk(List<Customer> customers, List<Integer> chunk, BatchItemResult[] results) {
+		try {
+			transactionTemplate.executeWithoutResult(status -> {
+				List<Customer> saved = customerRepository.saveAll(chunk.stream().map(customers::get).toList());
+				customerRepository.flush();
+				saved.forEach(customer -> outboxWriter.record(CustomerEventType.CREATED, customer));
+			});
+			chunk.stream().map(customers::get).forEach(customer -> uniquenessService.register(customer.getCpf(), customer.getEmail()));
+			chunk.forEach(i -> results[i] = BatchItemResult.created(i, customers.get(i).getId()));
 		} catch(DataIntegrityViolationException e) {
-			throw new DataIntegrityViolationException("Registro já existe no banco de dados.");
+			log.warn("Batch chunk rejected by the database, retrying {} records one by one", chunk.size());
+			for(Integer i : chunk) {
+				Customer customer = customers.get(i);
+				customer.setId(null);
+				customer.setVersion(null);
+				try {
+					transactionTemplate.executeWithoutResult(status -> outboxWriter.record(CustomerEventType.CREATED,
+							customerRepository.saveAndFlush(customer)));
+					uniquenessService.register(customer.getCpf(), customer.getEmail());
+					results[i] = BatchItemResult.created(i, customer.getId());
+				} catch(DataIntegrityViolationException ex) {
+					customer.setId(null);
+					customer.setVersion(null);
+					results[i] = BatchItemResult.rejected(i, DUPLICATE_MESSAGE);
+				}
+			}
 		}
-		return customerRepository.save(customer);
 	}
 	
+	@Transactional
 	public Customer update(Long id, Customer customer) {
-		log.info("Executing service update with params: {} and {}", id, customer);
-		try {
-			Customer entity = findById(id);
-			entity = customer;
-			return customerRepository.save(entity);
-		} catch(EntityNotFoundException e) {
-			throw new ResourceNotFoundException(id);
+		log.debug("Executing service update with params: {} and {}", id, customer);
+		Set<ConstraintViolation<Customer>> violations = validator.validate(customer);
+		if(!violations.isEmpty()) {
+			throw new ConstraintViolationException("Erro ao validar dados de entrada.", violations);
 		}
+		Customer updatedCustomer = customerRepository.updateActive(id, customer)
+			.orElseThrow(() -> new ResourceNotFoundException(id));
+		uniquenessService.register(updatedCustomer.getCpf(), updatedCustomer.getEmail());
+		outboxWriter.record(CustomerEventType.UPDATED, updatedCustomer);
+		customerCache.evict(id);
+		return updatedCustomer;
 	}
 	
+	@Transactional
 	public String delete(Long id) {
-		log.info("Executing service delete with param: {}", id);
-		Customer customer = findById(id);
+		log.debug("Executing service delete with param: {}", id);
+		Customer customer = findActiveForUpdate(id);
 		customer.setDatastate(Datastate.INATIVO);
-		customerRepository.save(customer);
+		outboxWriter.record(CustomerEventType.DELETED, customerRepository.save(customer));
+		customerCache.evict(id);
 		return "Registro removido com sucesso.";
 	}
 
+	@Transactional
 	public String toggleActivateAccount(Long id) {
-		log.info("Executing service toggleActivation with param: {}", id);
-		Customer customer = findById(id);
+		log.debug("Executing service toggleActivation with param: {}", id);
+		Customer customer = findActiveForUpdate(id);
 		if(customer.getActive()) {
 			customer.setActive(false);
-			customerRepository.save(customer);
+			outboxWriter.record(CustomerEventType.DEACTIVATED, customerRepository.save(customer));
+			customerCache.evict(id);
 			return "Cadastro inativado com sucesso.";
 		} else {
 			customer.setActive(true);
-			customerRepository.save(customer);
+			outboxWriter.record(CustomerEventType.ACTIVATED, customerRepository.save(customer));
+			customerCache.evict(id);
 			return "Cadastro ativado com sucesso.";
 		}
 	}
+	
+	/**
+	 * The customer as read by the current write transaction, never the cached copy: the
+	 * changes made to it must not be visible before they commit.
+	 */
+	private Customer findActiveForUpdate(Long id) {
+		return customerRepository.findById(id)
+			.filter(customer -> customer.getDatastate() == Datastate.ATIVO)
+			.orElseThrow(() -> new ResourceNotFoundException(id));
+	}
+	
+	private void evict(Customer customer) {
+		if(customer != null && customer.getId() != null) {
+			customerCache.evict(customer.getId());
+		}
+	}
 
 }
@@ -0,0 +1,173 @@
+package com.project.service.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.project.repositories.CustomerRepository;
+import com.project.service.CustomerUniquenessService;
+import com.project.utils.BloomFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Pre-checks cpf and email uniqueness before an insert. A Bloom filter over every cpf and
+ * email in tb_customer answers "certainly new" without touching the database; only when
+ * it answers "maybe present" is an indexed existence query run. The unique constraints
+ * remain the final authority: values missed by the filter (e.g. written by another
+ * instance) still fail on insert as before.
+ */
+@Service
+public class CustomerUniquenessServiceImpl implements CustomerUniquenessService {
+	
+	private static final Logger log = LoggerFactory.getLogger(CustomerUniquenessServiceImpl.class);
+	
+	private static final String SELECT_KEYS = "SELECT cpf, email FROM tb_customer";
+	
+	private static final String COUNT_CUSTOMERS = "SELECT count(*) FROM tb_customer";
+	
+	private static final int FETCH_SIZE = 10_000;
+	
+	private final CustomerRepository customerRepository;
+	
+	private final JdbcTemplate jdbcTemplate;
+	
+	private final TransactionTemplate transactionTemplate;
+	
+	private final long expectedInsertions;
+	
+	private final double falsePositiveProbability;
+	
+	private final Counter negatives;
+	
+	private final Counter falsePositives;
+	
+	private final Counter duplicates;
+	
+	private volatile BloomFilter filter;
+	
+	private volatile BloomFilter building;
+	
+	public CustomerUniquenessServiceImpl(CustomerRepository customerRepository, JdbcTemplate jdbcTemplate,
+			PlatformTransactionManager transactionManager, MeterRegistry registry,
+			@Value("${app.customers.uniqueness.expected-insertions:1000000}") long expectedInsertions,
+			@Value("${app.customers.uniqueness.false-positive-probability:0.01}") double falsePositiveProbability) {
+		this.customerRepository = customerRepository;
+		this.jdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+		this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setReadOnly(true);
+		this.expectedInsertions = expectedInsertions;
+		this.falsePositiveProbability = falsePositiveProbability;
+		this.negatives = precheckCounter(registry, "negative");
+		this.falsePositives = precheckCounter(registry, "false_positive");
+		this.duplicates = precheckCounter(registry, "duplicate");
+	}
+	
+	private static Counter precheckCounter(MeterRegistry registry, String result) {
+		return Counter.builder("customer.uniqueness.precheck").tag("result", result).register(registry);
+	}
+	
+	public boolean isDuplicate(String cpf, String email) {
+		BloomFilter current = filter;
+		if(current == null || cpf == null || email == null) {
+			return false;
+		}
+		if(!current.mightContain(cpfKey(cpf)) && !current.mightContain(emailKey(email))) {
+			negatives.increment();
+			return false;
+		}
+		if(customerRepository.existsByCpfOrEmail(cpf, email)) {
+			duplicates.increment();
+			return true;
+		}
+		falsePositives.increment();
+		return false;
+	}
+	
+	public boolean isDuplicate(Long id, String cpf, String email) {
+		BloomFilter current = filter;
+		if(current == null || (cpf == null && email == null)) {
+			return false;
+		}
+		if(!(cpf != null && current.mightContain(cpfKey(cpf))) && !(email != null && current.mightContain(emailKey(email)))) {
+			negatives.increment();
+			return false;
+		}
+		if(customerRepository.existsOtherByCpfOrEmail(id, cpf, email)) {
+			duplicates.increment();
+			return true;
+		}
+		falsePositives.increment();
+		return false;
+	}
+	
+	public void register(String cpf, String email) {
+		put(filter, cpf, email);
+		put(building, cpf, email);
+	}
+	
+	/**
+	 * Loads every cpf and email into a new filter with room for twice the current number
+	 * of keys (at least the configured expected insertions) and swaps it in. Values registered
+	 * while the load runs are added to both filters.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public synchronized void rebuild() {
+		try {
+			Long rows = jdbcTemplate.queryForObject(COUNT_CUSTOMERS, Long.class);
+			long keys = 2 * (rows == null ? 0 : rows);
+			long capacity = Math.max(expectedInsertions, 2 * keys);
+			BloomFilter next = new BloomFilter(capacity, falsePositiveProbability);
+			building = next;
+			transactionTemplate.executeWithoutResult(status ->
+					jdbcTemplate.query(SELECT_KEYS, (RowCallbackHandler) rs -> put(next, rs.getString(1), rs.getString(2))));
+			filter = next;
+			log.info("Uniqueness filter loaded with {} distinct keys, capacity {}", next.insertions(), capacity);
+		} catch(DataAccessException e) {
+			log.warn("Could not load the uniqueness filter, inserts rely on the database constraints only", e);
+		} finally {
+			building = null;
+		}
+	}
+	
+	@Scheduled(fixedDelayString = "${app.customers.uniqueness.check-interval:PT10M}")
+	public void rebuildIfSaturated() {
+		BloomFilter current = filter;
+		if(current != null && current.isSaturated()) {
+			log.info("Uniqueness filter is saturated, rebuilding");
+			rebuild();
+		}
+	}
+	
+	private static void put(BloomFilter target, String cpf, String email) {
+		if(target == null) {
+			return;
+		}
+		if(cpf != null) {
+			target.put(cpfKey(cpf));
+		}
+		if(email != null) {
+			target.put(emailKey(email));
+		}
+	}
+	
+	private static String cpfKey(String cpf) {
+		return "c:" + cpf;
+	}
+	
+	private static String emailKey(String email) {
+		return "e:" + email;
+	}
+
+}
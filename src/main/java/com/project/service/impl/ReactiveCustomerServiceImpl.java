@@ -0,0 +1,369 @@
+package com.project.service.impl;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import com.project.entities.Customer;
+import com.project.exceptions.InvalidRequestException;
+import com.project.exceptions.ResourceNotFoundException;
+import com.project.models.enums.CustomerEventType;
+import com.project.models.enums.Datastate;
+import com.project.outbox.OutboxWriter;
+import com.project.service.CustomerUniquenessService;
+import com.project.service.ReactiveCustomerService;
+import com.project.utils.CustomerFilter;
+import com.project.utils.PaginationRequest;
+
+import io.r2dbc.spi.Readable;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * R2DBC counterpart of {@link CustomerServiceImpl} for the reactive profile. It reads and
+ * writes tb_customer with the same rules (only ATIVO rows are visible, delete is a soft
+ * delete, every change bumps the version and records an outbox event in its transaction)
+ * without holding a thread while a statement runs.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCustomerServiceImpl implements ReactiveCustomerService {
+
+	private static final Logger log = LoggerFactory.getLogger(ReactiveCustomerServiceImpl.class);
+
+	private static final String DUPLICATE_MESSAGE = "Registro já existe no banco de dados.";
+
+	private static final Map<String, String> SORT_COLUMNS = Map.of(
+			"id", "id",
+			"name", "name",
+			"cpf", "cpf",
+			"email", "email",
+			"phone", "phone",
+			"city", "city",
+			"state", "state",
+			"country", "country",
+			"registrationDate", "registration_date",
+			"active", "active");
+
+	private static final String NEXT_ID_BLOCK = "SELECT nextval('" + Customer.ID_SEQUENCE + "')";
+
+	private static final String INSERT_CUSTOMER = """
+			INSERT INTO tb_customer (id, name, cpf, email, phone, city, state, country,
+				registration_date, active, datastate, version, last_modified)
+			VALUES (:id, :name, :cpf, :email, :phone, :city, :state, :country,
+				:registrationDate, :active, :datastate, 0, now())
+			RETURNING *""";
+
+	private static final String INSERT_OUTBOX_EVENT = """
+			INSERT INTO tb_outbox_event (id, aggregate_id, event_type, payload, occurred_at)
+			VALUES (gen_random_uuid(), :aggregateId, :eventType, :payload, now())""";
+
+	private static final String SOFT_DELETE = """
+			UPDATE tb_customer SET datastate = 'INATIVO', version = version + 1, last_modified = now()
+			WHERE id = :id AND datastate = 'ATIVO' RETURNING *""";
+
+	private static final String TOGGLE_ACTIVE = """
+			UPDATE tb_customer SET active = NOT coalesce(active, false), version = version + 1, last_modified = now()
+			WHERE id = :id AND datastate = 'ATIVO' RETURNING *""";
+
+	private final DatabaseClient databaseClient;
+
+	private final TransactionalOperator transactionalOperator;
+
+	private final CustomerCache customerCache;
+
+	private final Validator validator;
+
+	private final OutboxWriter outboxWriter;
+
+	private final CustomerUniquenessService uniquenessService;
+
+	private final Object idLock = new Object();
+
+	private long nextId;
+
+	private long lastId = -1;
+
+	public ReactiveCustomerServiceImpl(DatabaseClient databaseClient, TransactionalOperator transactionalOperator,
+			CustomerCache customerCache, Validator validator, OutboxWriter outboxWriter,
+			CustomerUniquenessService uniquenessService) {
+		this.databaseClient = databaseClient;
+		this.transactionalOperator = transactionalOperator;
+		this.customerCache = customerCache;
+		this.validator = validator;
+		this.outboxWriter = outboxWriter;
+		this.uniquenessService = uniquenessService;
+	}
+
+	public Mono<Page<Customer>> findAll(PaginationRequest paginationRequest, CustomerFilter filter) {
+		log.debug("Executing service findAll");
+		return Mono.defer(() -> {
+			PageRequest pageRequest = PageRequest.of(paginationRequest.getPage(), paginationRequest.getSize());
+			String column = SORT_COLUMNS.get(paginationRequest.getSortField());
+			if(column == null) {
+				return Mono.error(new InvalidRequestException("Campo de ordenação inválido: " + paginationRequest.getSortField()));
+			}
+			String direction = Sort.Direction.fromString(paginationRequest.getSortDirection()).name();
+
+			Map<String, Object> parameters = new LinkedHashMap<>();
+			StringBuilder where = new StringBuilder(" WHERE datastate = 'ATIVO'");
+			if(filter != null) {
+				addCriterion(where, parameters, "country", filter.getCountry());
+				addCriterion(where, parameters, "state", filter.getState());
+				addCriterion(where, parameters, "city", filter.getCity());
+				addCriterion(where, parameters, "active", filter.getActive());
+			}
+
+			Mono<List<Customer>> content = databaseClient
+					.sql("SELECT * FROM tb_customer" + where + " ORDER BY " + column + " " + direction + ", id " + direction
+							+ " LIMIT " + pageRequest.getPageSize() + " OFFSET " + pageRequest.getOffset())
+					.bindValues(parameters)
+					.map(ReactiveCustomerServiceImpl::toCustomer)
+					.all()
+					.collectList();
+			Mono<Long> total = databaseClient.sql("SELECT count(*) FROM tb_customer" + where)
+					.bindValues(parameters)
+					.map(row -> row.get(0, Long.class))
+					.one();
+			return Mono.zip(content, total).map(page -> new PageImpl<>(page.getT1(), pageRequest, page.getT2()));
+		});
+	}
+
+	private static void addCriterion(StringBuilder where, Map<String, Object> parameters, String column, Object value) {
+		if(value != null) {
+			where.append(" AND ").append(column).append(" = :").append(column);
+			parameters.put(column, value);
+		}
+	}
+
+	public Mono<Customer> findById(Long id) {
+		log.debug("Executing service findById with param: {}", id);
+		return Mono.fromSupplier(() -> customerCache.get(id))
+			.switchIfEmpty(Mono.defer(() -> {
+				long generation = customerCache.generation(id);
+				return databaseClient.sql("SELECT * FROM tb_customer WHERE id = :id")
+					.bind("id", id)
+					.map(ReactiveCustomerServiceImpl::toCustomer)
+					.one()
+					.doOnNext(loaded -> customerCache.put(id, loaded, generation));
+			}))
+			.filter(customer -> customer.getDatastate() == Datastate.ATIVO)
+			.switchIfEmpty(Mono.error(() -> new ResourceNotFoundException(id)));
+	}
+
+	public Mono<Customer> save(Customer customer) {
+		log.debug("Executing service save with param: {}", customer);
+		if(customer.getRegistrationDate() == null) {
+			customer.setRegistrationDate(LocalDate.now());
+			customer.setActive(true);
+			customer.setDatastate(Datastate.ATIVO);
+		}
+		Set<ConstraintViolation<Customer>> violations = validator.validate(customer);
+		if(!violations.isEmpty()) {
+			return Mono.error(new ConstraintViolationException("Erro ao validar dados de entrada.", violations));
+		}
+		Mono<Customer> insert = nextId()
+			.flatMap(id -> {
+				GenericExecuteSpec spec = databaseClient.sql(INSERT_CUSTOMER).bind("id", id);
+				spec = bind(spec, "name", customer.getName(), String.class);
+				spec = bind(spec, "cpf", customer.getCpf(), String.class);
+				spec = bind(spec, "email", customer.getEmail(), String.class);
+				spec = bind(spec, "phone", customer.getPhone(), String.class);
+				spec = bind(spec, "city", customer.getCity(), String.class);
+				spec = bind(spec, "state", customer.getState(), String.class);
+				spec = bind(spec, "country", customer.getCountry(), String.class);
+				spec = bind(spec, "registrationDate", customer.getRegistrationDate(), LocalDate.class);
+				spec = bind(spec, "active", customer.getActive(), Boolean.class);
+				spec = bind(spec, "datastate", customer.getDatastate() == null ? null : customer.getDatastate().name(), String.class);
+				return spec.map(ReactiveCustomerServiceImpl::toCustomer).one();
+			})
+			.flatMap(saved -> record(CustomerEventType.CREATED, saved))
+			.flatMap(saved -> evictAfterCommit(saved.getId()).thenReturn(saved));
+		return Mono.fromCallable(() -> uniquenessService.isDuplicate(customer.getCpf(), customer.getEmail()))
+			.subscribeOn(Schedulers.boundedElastic())
+			.flatMap(duplicate -> duplicate
+					? Mono.<Customer>error(new DataIntegrityViolationException(DUPLICATE_MESSAGE))
+					: transactionalOperator.transactional(insert)
+						.onErrorMap(DataIntegrityViolationException.class,
+								e -> new DataIntegrityViolationException(DUPLICATE_MESSAGE, e)))
+			.doOnNext(saved -> uniquenessService.register(saved.getCpf(), saved.getEmail()));
+	}
+
+	public Mono<Customer> update(Long id, Customer customer) {
+		log.debug("Executing service update with params: {} and {}", id, customer);
+		Set<ConstraintViolation<Customer>> violations = validator.validate(customer);
+		if(!violations.isEmpty()) {
+			return Mono.error(new ConstraintViolationException("Erro ao validar dados de entrada.", violations));
+		}
+		Map<String, Object> columns = new LinkedHashMap<>();
+		putIfPresent(columns, "name", customer.getName());
+		putIfPresent(columns, "cpf", customer.getCpf());
+		putIfPresent(columns, "email", customer.getEmail());
+		putIfPresent(columns, "phone", customer.getPhone());
+		putIfPresent(columns, "city", customer.getCity());
+		putIfPresent(columns, "state", customer.getState());
+		putIfPresent(columns, "country", customer.getCountry());
+
+		if(columns.isEmpty()) {
+			// nothing to change, so no version bump, outbox event or eviction either
+			return findById(id);
+		}
+
+		StringJoiner assignments = new StringJoiner(", ");
+		columns.keySet().forEach(column -> assignments.add(column + " = :" + column));
+		assignments.add("version = version + 1");
+		assignments.add("last_modified = now()");
+		String sql = "UPDATE tb_customer SET " + assignments + " WHERE id = :id AND datastate = 'ATIVO' RETURNING *";
+		Mono<Customer> change = Mono.defer(() -> databaseClient.sql(sql)
+			.bindValues(columns)
+			.bind("id", id)
+			.map(ReactiveCustomerServiceImpl::toCustomer)
+			.one())
+			.switchIfEmpty(Mono.error(() -> new ResourceNotFoundException(id)))
+			.flatMap(updated -> record(CustomerEventType.UPDATED, updated))
+			.flatMap(updated -> evictAfterCommit(id).thenReturn(updated));
+		return Mono.fromCallable(() -> uniquenessService.isDuplicate(id, customer.getCpf(), customer.getEmail()))
+			.subscribeOn(Schedulers.boundedElastic())
+			.flatMap(duplicate -> duplicate
+					? Mono.<Customer>error(new DataIntegrityViolationException(DUPLICATE_MESSAGE))
+					: transactionalOperator.transactional(change)
+						.onErrorMap(DataIntegrityViolationException.class,
+								e -> new DataIntegrityViolationException(DUPLICATE_MESSAGE, e)))
+			.doOnNext(updated -> uniquenessService.register(updated.getCpf(), updated.getEmail()));
+	}
+
+	public Mono<String> delete(Long id) {
+		log.debug("Executing service delete with param: {}", id);
+		Mono<Customer> change = databaseClient.sql(SOFT_DELETE)
+			.bind("id", id)
+			.map(ReactiveCustomerServiceImpl::toCustomer)
+			.one()
+			.switchIfEmpty(Mono.error(() -> new ResourceNotFoundException(id)))
+			.flatMap(deleted -> record(CustomerEventType.DELETED, deleted))
+			.flatMap(deleted -> evictAfterCommit(id).thenReturn(deleted));
+		return transactionalOperator.transactional(change)
+			.thenReturn("Registro removido com sucesso.");
+	}
+
+	public Mono<String> toggleActivateAccount(Long id) {
+		log.debug("Executing service toggleActivation with param: {}", id);
+		Mono<Customer> change = databaseClient.sql(TOGGLE_ACTIVE)
+			.bind("id", id)
+			.map(ReactiveCustomerServiceImpl::toCustomer)
+			.one()
+			.switchIfEmpty(Mono.error(() -> new ResourceNotFoundException(id)))
+			.flatMap(toggled -> record(toggled.getActive() ? CustomerEventType.ACTIVATED : CustomerEventType.DEACTIVATED, toggled))
+			.flatMap(toggled -> evictAfterCommit(id).thenReturn(toggled));
+		return transactionalOperator.transactional(change)
+			.map(toggled -> toggled.getActive() ? "Cadastro ativado com sucesso." : "Cadastro inativado com sucesso.");
+	}
+
+	private Mono<Customer> record(CustomerEventType type, Customer customer) {
+		return databaseClient.sql(INSERT_OUTBOX_EVENT)
+			.bind("aggregateId", customer.getId())
+			.bind("eventType", type.name())
+			.bind("payload", outboxWriter.toPayload(customer))
+			.fetch()
+			.rowsUpdated()
+			.thenReturn(customer);
+	}
+
+	/**
+	 * Evicts the customer once the current transaction commits. Evicting as soon as the
+	 * transaction emits would let a read in between cache the row being replaced.
+	 */
+	private Mono<Void> evictAfterCommit(Long id) {
+		return TransactionSynchronizationManager.forCurrentTransaction()
+			.doOnNext(manager -> manager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public Mono<Void> afterCommit() {
+					return Mono.fromRunnable(() -> customerCache.evict(id));
+				}
+			}))
+			.then();
+	}
+
+	/**
+	 * Hands out ids from blocks reserved the same way Hibernate's pooled optimizer does:
+	 * each nextval call owns (value - allocationSize, value], so rows inserted here never
+	 * collide with ids handed out by the JPA side. The first value of a fresh sequence
+	 * only owns itself, as in the CSV import.
+	 */
+	private Mono<Long> nextId() {
+		return Mono.defer(() -> {
+			synchronized(idLock) {
+				if(nextId <= lastId) {
+					return Mono.just(nextId++);
+				}
+			}
+			return nextIdBlock().map(hi -> {
+				long first = Math.max(1, hi - Customer.ID_ALLOCATION_SIZE + 1);
+				synchronized(idLock) {
+					if(nextId > lastId) {
+						nextId = first + 1;
+						lastId = hi;
+					}
+				}
+				return first;
+			});
+		});
+	}
+
+	private Mono<Long> nextIdBlock() {
+		return databaseClient.sql(NEXT_ID_BLOCK)
+			.map(row -> row.get(0, Long.class))
+			.one();
+	}
+
+	private static GenericExecuteSpec bind(GenericExecuteSpec spec, String name, Object value, Class<?> type) {
+		return value == null ? spec.bindNull(name, type) : spec.bind(name, value);
+	}
+
+	private static void putIfPresent(Map<String, Object> columns, String column, String value) {
+		if(value != null) {
+			columns.put(column, value);
+		}
+	}
+
+	private static Customer toCustomer(Readable row) {
+		String datastate = row.get("datastate", String.class);
+		Customer customer = new Customer(
+				row.get("name", String.class),
+				row.get("cpf", String.class),
+				row.get("email", String.class),
+				row.get("phone", String.class),
+				row.get("city", String.class),
+				row.get("state", String.class),
+				row.get("country", String.class),
+				row.get("registration_date", LocalDate.class),
+				row.get("active", Boolean.class),
+				datastate == null ? null : Datastate.valueOf(datastate));
+		customer.setId(row.get("id", Long.class));
+		customer.setVersion(row.get("version", Long.class));
+		customer.setLastModified(row.get("last_modified", Instant.class));
+		return customer;
+	}
+
+}
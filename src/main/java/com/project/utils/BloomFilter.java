@@ -0,0 +1,111 @@
+package com.project.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over strings. {@link #mightContain(String)} never returns
+ * {@code false} for a value that was added; it returns {@code true} for a value that was
+ * not added with roughly the configured false positive probability, as long as no more
+ * than the expected number of values are added.
+ */
+public final class BloomFilter {
+
+	private final AtomicLongArray bits;
+	private final long bitCount;
+	private final int hashFunctions;
+	private final long expectedInsertions;
+	private final AtomicLong insertions = new AtomicLong();
+
+	public BloomFilter(long expectedInsertions, double falsePositiveProbability) {
+		if(expectedInsertions <= 0 || falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+			throw new IllegalArgumentException("Invalid Bloom filter sizing");
+		}
+		long bitsNeeded = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+		this.bits = new AtomicLongArray(Math.toIntExact((bitsNeeded + 63) / 64));
+		this.bitCount = bits.length() * 64L;
+		this.hashFunctions = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+		this.expectedInsertions = expectedInsertions;
+	}
+
+	/**
+	 * Adds {@code value} and tells whether that set any bit. A value that sets none was
+	 * already reported as possibly present, so it adds nothing to the false positive rate
+	 * and is not counted as an insertion.
+	 */
+	public boolean put(String value) {
+		long hash1 = hash(value);
+		long hash2 = mix(hash1 + 0x9e3779b97f4a7c15L);
+		boolean changed = false;
+		for(int i = 1; i <= hashFunctions; i++) {
+			long index = index(hash1, hash2, i, bitCount);
+			long mask = 1L << index;
+			int word = (int) (index >>> 6);
+			long current = bits.get(word);
+			while((current & mask) == 0) {
+				if(bits.compareAndSet(word, current, current | mask)) {
+					changed = true;
+					break;
+				}
+				current = bits.get(word);
+			}
+		}
+		if(changed) {
+			insertions.incrementAndGet();
+		}
+		return changed;
+	}
+
+	public boolean mightContain(String value) {
+		long hash1 = hash(value);
+		long hash2 = mix(hash1 + 0x9e3779b97f4a7c15L);
+		for(int i = 1; i <= hashFunctions; i++) {
+			long index = index(hash1, hash2, i, bitCount);
+			if((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Whether more values set new bits than the filter was sized for, in which case the
+	 * false positive rate is above the configured one.
+	 */
+	public boolean isSaturated() {
+		return insertions.get() > expectedInsertions;
+	}
+
+	public long insertions() {
+		return insertions.get();
+	}
+
+	/**
+	 * The i-th bit of a value, from two 64-bit hashes (Kirsch-Mitzenmacher double hashing).
+	 * Combining them in 64 bits keeps every bit reachable however large the filter is;
+	 * 32-bit hashes would leave the bits above 2^32 unused.
+	 */
+	static long index(long hash1, long hash2, int i, long bitCount) {
+		return ((hash1 + i * hash2) & Long.MAX_VALUE) % bitCount;
+	}
+
+	/** 64-bit FNV-1a over the UTF-16 chars, finished with the MurmurHash3 mixer. */
+	private static long hash(String value) {
+		long hash = 0xcbf29ce484222325L;
+		for(int i = 0; i < value.length(); i++) {
+			hash ^= value.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+		return mix(hash);
+	}
+
+	private static long mix(long hash) {
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb9fe1a85ec53L;
+		hash ^= hash >>> 33;
+		return hash;
+	}
+
+}
@@ -0,0 +1,53 @@
+package com.project.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 helpers for single-line records: quoted fields, escaped quotes
+ * and commas inside quotes are supported, line breaks inside fields are not.
+ */
+public final class CsvUtils {
+
+	private CsvUtils() {
+	}
+
+	public static List<String> parseLine(String line) {
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+		for (int i = 0; i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (quoted) {
+				if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+					field.append('"');
+					i++;
+				} else if (c == '"') {
+					quoted = false;
+				} else {
+					field.append(c);
+				}
+			} else if (c == '"') {
+				quoted = true;
+			} else if (c == ',') {
+				fields.add(field.toString());
+				field.setLength(0);
+			} else {
+				field.append(c);
+			}
+		}
+		if (quoted) {
+			throw new IllegalArgumentException("Unterminated quoted field");
+		}
+		fields.add(field.toString());
+		return fields;
+	}
+
+	public static void appendField(StringBuilder out, String value) {
+		if (value == null) {
+			return;
+		}
+		out.append('"').append(value.replace("\"", "\"\"")).append('"');
+	}
+
+}
@@ -0,0 +1,89 @@
+package com.project.utils;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.function.Function;
+
+import com.project.exceptions.InvalidCursorException;
+import com.project.models.enums.Datastate;
+
+/**
+ * Encodes the keyset of the last row of a page (sort field value plus id) into the
+ * opaque {@code after} token used by cursor pagination, and decodes it back. Every key
+ * carries a value; a null one is written as {@value #NULL_VALUE}, a character the URL
+ * encoding of a real value never leaves unescaped. A token that does not decode fails
+ * with {@link InvalidCursorException}.
+ */
+public final class CursorCodec {
+
+	private static final String NULL_VALUE = "~";
+
+	private static final Map<String, Function<String, Object>> KEY_TYPES = Map.ofEntries(
+			Map.entry("id", Long::valueOf),
+			Map.entry("name", value -> value),
+			Map.entry("cpf", value -> value),
+			Map.entry("email", value -> value),
+			Map.entry("phone", value -> value),
+			Map.entry("city", value -> value),
+			Map.entry("state", value -> value),
+			Map.entry("country", value -> value),
+			Map.entry("registrationDate", LocalDate::parse),
+			Map.entry("active", Boolean::valueOf),
+			Map.entry("datastate", Datastate::valueOf),
+			Map.entry("version", Long::valueOf),
+			Map.entry("lastModified", Instant::parse));
+
+	private CursorCodec() {
+	}
+
+	/**
+	 * Tells whether {@code field} can be a key of a cursor, i.e. a sort field for cursor
+	 * pagination.
+	 */
+	public static boolean isKey(String field) {
+		return KEY_TYPES.containsKey(field);
+	}
+
+	public static String encode(Map<String, ?> keys) {
+		StringJoiner joiner = new StringJoiner("&");
+		keys.forEach((key, value) -> {
+			String encodedKey = URLEncoder.encode(key, StandardCharsets.UTF_8);
+			joiner.add(encodedKey + "=" + (value == null ? NULL_VALUE : URLEncoder.encode(value.toString(), StandardCharsets.UTF_8)));
+		});
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(joiner.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	public static Map<String, Object> decode(String token) {
+		Map<String, Object> keys = new LinkedHashMap<>();
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			for (String pair : raw.split("&")) {
+				int separator = pair.indexOf('=');
+				if (separator < 0) {
+					throw new IllegalArgumentException("Invalid cursor pair: " + pair);
+				}
+				String key = URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8);
+				Function<String, Object> type = KEY_TYPES.get(key);
+				if (type == null) {
+					throw new IllegalArgumentException("Invalid cursor key: " + key);
+				}
+				String value = pair.substring(separator + 1);
+				keys.put(key, value.equals(NULL_VALUE) ? null : type.apply(URLDecoder.decode(value, StandardCharsets.UTF_8)));
+			}
+		} catch (RuntimeException e) {
+			throw new InvalidCursorException(token, e);
+		}
+		if (!keys.containsKey("id")) {
+			throw new InvalidCursorException(token);
+		}
+		return keys;
+	}
+
+}
@@ -0,0 +1,68 @@
+package com.project.utils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.project.entities.Customer;
+import com.project.exceptions.InvalidRequestException;
+
+/**
+ * The sparse fieldset requested through {@code fields=id,name,city}: the subset of
+ * {@code CustomerResponse} properties to read and write, in the requested order.
+ */
+public final class CustomerFields {
+
+	private static final Map<String, Function<Customer, Object>> PROPERTIES = Map.ofEntries(
+			Map.entry("id", Customer::getId),
+			Map.entry("name", Customer::getName),
+			Map.entry("cpf", Customer::getCpf),
+			Map.entry("email", Customer::getEmail),
+			Map.entry("phone", Customer::getPhone),
+			Map.entry("city", Customer::getCity),
+			Map.entry("state", Customer::getState),
+			Map.entry("country", Customer::getCountry),
+			Map.entry("registrationDate", Customer::getRegistrationDate),
+			Map.entry("active", Customer::getActive),
+			Map.entry("datastate", Customer::getDatastate));
+
+	private final List<String> names;
+
+	private CustomerFields(List<String> names) {
+		this.names = names;
+	}
+
+	public static CustomerFields parse(String fields) {
+		List<String> names = new ArrayList<>();
+		for(String field : (fields == null ? "" : fields).split(",")) {
+			String name = field.trim();
+			if(name.isEmpty() || names.contains(name)) {
+				continue;
+			}
+			if(!PROPERTIES.containsKey(name)) {
+				throw new InvalidRequestException("Campo inválido: " + name);
+			}
+			names.add(name);
+		}
+		if(names.isEmpty()) {
+			throw new InvalidRequestException("Informe ao menos um campo.");
+		}
+		return new CustomerFields(List.copyOf(names));
+	}
+
+	public List<String> names() {
+		return names;
+	}
+
+	/**
+	 * The requested fields of an already loaded customer, e.g. one served from the cache.
+	 */
+	public Map<String, Object> project(Customer customer) {
+		Map<String, Object> values = new LinkedHashMap<>();
+		names.forEach(name -> values.put(name, PROPERTIES.get(name).apply(customer)));
+		return values;
+	}
+
+}
@@ -0,0 +1,56 @@
+package com.project.utils;
+
+public class CustomerFilter {
+    
+    private String city;
+    private String state;
+    private String country;
+    private Boolean active;
+
+    public CustomerFilter() {
+	}
+
+	public CustomerFilter(String city, String state, String country, Boolean active) {
+		this.city = city;
+		this.state = state;
+		this.country = country;
+		this.active = active;
+	}
+
+	public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public String getCountry() {
+        return country;
+    }
+
+    public void setCountry(String country) {
+        this.country = country;
+    }
+
+    public Boolean getActive() {
+        return active;
+    }
+
+    public void setActive(Boolean active) {
+        this.active = active;
+    }
+
+    public boolean hasCriteria() {
+        return city != null || state != null || country != null || active != null;
+    }
+    
+}
@@ -6,6 +6,7 @@ public class PaginationRequest {
     private int size = 10;
     private String sortField = "name";
     private String sortDirection = "asc";
+    private String after;
 
     public PaginationRequest() {
 	}
@@ -48,5 +49,13 @@ public class PaginationRequest {
     public void setSortDirection(String sortDirection) {
         this.sortDirection = sortDirection;
     }
+
+    public String getAfter() {
+        return after;
+    }
+
+    public void setAfter(String after) {
+        this.after = after;
+    }
     
 }
@@ -0,0 +1,65 @@
+package com.project.utils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent loads of the same key into one call. The first caller for a key
+ * runs the loader; callers arriving while it is in flight wait for and share its result
+ * or exception. Nothing is kept once the load completes.
+ */
+public final class SingleFlight<K, V> {
+
+	private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+	private final LongAdder executed = new LongAdder();
+	private final LongAdder coalesced = new LongAdder();
+
+	public V execute(K key, Supplier<V> loader) {
+		CompletableFuture<V> call = new CompletableFuture<>();
+		CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+		if(existing != null) {
+			coalesced.increment();
+			return await(existing);
+		}
+		executed.increment();
+		try {
+			V value = loader.get();
+			call.complete(value);
+			return value;
+		} catch(RuntimeException | Error e) {
+			call.completeExceptionally(e);
+			throw e;
+		} finally {
+			inFlight.remove(key, call);
+		}
+	}
+
+	/** Number of loader calls actually made. */
+	public long executed() {
+		return executed.sum();
+	}
+
+	/** Number of callers served by another caller's load, i.e. loader calls saved. */
+	public long coalesced() {
+		return coalesced.sum();
+	}
+
+	private static <V> V await(CompletableFuture<V> call) {
+		try {
+			return call.join();
+		} catch(CompletionException e) {
+			if(e.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			if(e.getCause() instanceof Error error) {
+				throw error;
+			}
+			throw e;
+		}
+	}
+
+}
@@ -0,0 +1,23 @@
+-- Runs after Hibernate creates tb_customer (spring.jpa.defer-datasource-initialization=true).
+
+-- Partial index for the paged listing: only ATIVO rows are indexed, so soft-deleted
+-- rows are never read by findByDatastate nor counted by its count query. The trailing id
+-- column also serves the keyset predicate (name, id) > (?, ?) used by cursor pagination.
+CREATE INDEX IF NOT EXISTS idx_customer_ativo_name ON tb_customer (name, id) WHERE datastate = 'ATIVO';
+
+-- Trigram indexes for GET api/v1/customers/search (ILIKE '%q%' and word similarity).
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_customer_name_trgm ON tb_customer USING gin (name gin_trgm_ops) WHERE datastate = 'ATIVO';
+CREATE INDEX IF NOT EXISTS idx_customer_email_trgm ON tb_customer USING gin (email gin_trgm_ops) WHERE datastate = 'ATIVO';
+CREATE INDEX IF NOT EXISTS idx_customer_city_trgm ON tb_customer USING gin (city gin_trgm_ops) WHERE datastate = 'ATIVO';
+
+-- Composite indexes for the city/state/country/active filters on GET api/v1/customers.
+-- The most general location filter present picks the index; the remaining filters are
+-- checked as index conditions, so no combination falls back to a sequential scan.
+CREATE INDEX IF NOT EXISTS idx_customer_ativo_country_state_city ON tb_customer (country, state, city, active) WHERE datastate = 'ATIVO';
+CREATE INDEX IF NOT EXISTS idx_customer_ativo_state_city ON tb_customer (state, city, active) WHERE datastate = 'ATIVO';
+CREATE INDEX IF NOT EXISTS idx_customer_ativo_city ON tb_customer (city, active) WHERE datastate = 'ATIVO';
+CREATE INDEX IF NOT EXISTS idx_customer_ativo_active ON tb_customer (active, name, id) WHERE datastate = 'ATIVO';
+
+-- The outbox relay drains events oldest first.
+CREATE INDEX IF NOT EXISTS idx_outbox_event_occurred_at ON tb_outbox_event (occurred_at);
@@ -0,0 +1,108 @@
+package com.project.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+
+class AccessLogFilterTest {
+
+    private Logger accessLogger;
+    private ListAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    void setUp() {
+        accessLogger = (Logger) LoggerFactory.getLogger("access");
+        appender = new ListAppender<>();
+        appender.start();
+        accessLogger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        accessLogger.detachAppender(appender);
+    }
+
+    @Test
+    @DisplayName("Check if every request is logged when the sample rate is 1")
+    void shouldLogSampledRequest() throws Exception {
+        AccessLogFilter filter = new AccessLogFilter(1.0, Duration.ofSeconds(1));
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/customers/1"), new MockHttpServletResponse(), new MockFilterChain());
+
+        List<ILoggingEvent> events = appender.list;
+        assertEquals(1, events.size());
+        assertTrue(events.get(0).getFormattedMessage().startsWith("GET /api/v1/customers/1 200 "));
+    }
+
+    @Test
+    @DisplayName("Check if unsampled requests are not logged unless they fail")
+    void shouldLogOnlyFailuresWhenNotSampled() throws Exception {
+        AccessLogFilter filter = new AccessLogFilter(0.0, Duration.ofSeconds(1));
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/customers"), new MockHttpServletResponse(), new MockFilterChain());
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/v1/customers"), new MockHttpServletResponse(),
+        		(request, response) -> ((MockHttpServletResponse) response).setStatus(500));
+
+        assertEquals(1, appender.list.size());
+        assertTrue(appender.list.get(0).getFormattedMessage().startsWith("POST /api/v1/customers 500 "));
+    }
+
+    @Test
+    @DisplayName("Check if slow requests are always logged")
+    void shouldLogSlowRequest() throws Exception {
+        AccessLogFilter filter = new AccessLogFilter(0.0, Duration.ZERO);
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/customers"), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertEquals(1, appender.list.size());
+    }
+
+    @Test
+    @DisplayName("Check if an exception escaping the chain is logged as a server error")
+    void shouldLogEscapingException() {
+        AccessLogFilter filter = new AccessLogFilter(0.0, Duration.ofSeconds(1));
+
+        assertThrows(IllegalStateException.class, () -> filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/customers"),
+                new MockHttpServletResponse(), (request, response) -> {
+                    throw new IllegalStateException("boom");
+                }));
+
+        assertEquals(1, appender.list.size());
+        assertTrue(appender.list.get(0).getFormattedMessage().startsWith("GET /api/v1/customers 500 "));
+    }
+
+    @Test
+    @DisplayName("Check if an async request is logged when it completes, not when the dispatch returns")
+    void shouldLogAsyncRequestOnCompletion() throws Exception {
+        AccessLogFilter filter = new AccessLogFilter(1.0, Duration.ofSeconds(1));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/customers/export");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> req.startAsync());
+
+        assertEquals(0, appender.list.size());
+        response.setStatus(206);
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+        assertEquals(1, appender.list.size());
+        assertTrue(appender.list.get(0).getFormattedMessage().startsWith("GET /api/v1/customers/export 206 "));
+    }
+
+}
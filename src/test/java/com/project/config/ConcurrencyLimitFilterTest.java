@@ -0,0 +1,81 @@
+package com.project.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+class ConcurrencyLimitFilterTest {
+
+    @Test
+    @DisplayName("Check if requests pass through and release their permit")
+    void shouldPassRequestThrough() throws Exception {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(1, Duration.ofMillis(10));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/customers"), response, new MockFilterChain());
+
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertEquals(1, filter.availablePermits());
+    }
+
+    @Test
+    @DisplayName("Check if requests above the limit are shed with 503")
+    void shouldShedRequestsAboveLimit() throws Exception {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(1, Duration.ofMillis(10));
+        CountDownLatch inFlight = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> {
+        	try {
+        		filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), (request, response) -> {
+        			inFlight.countDown();
+        			try {
+        				release.await(5, TimeUnit.SECONDS);
+        			} catch (InterruptedException e) {
+        				Thread.currentThread().interrupt();
+        			}
+        		});
+        	} catch (Exception e) {
+        		throw new IllegalStateException(e);
+        	}
+        });
+        holder.start();
+        inFlight.await(5, TimeUnit.SECONDS);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(), response, new MockFilterChain());
+        release.countDown();
+        holder.join();
+
+        assertEquals(HttpServletResponse.SC_SERVICE_UNAVAILABLE, response.getStatus());
+        assertEquals(1, filter.availablePermits());
+    }
+
+    @Test
+    @DisplayName("Check if an async request keeps its permit until it completes")
+    void shouldHoldPermitUntilAsyncCompletes() throws Exception {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(1, Duration.ofMillis(10));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/customers/export");
+        request.setAsyncSupported(true);
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+
+        assertEquals(0, filter.availablePermits());
+        MockHttpServletResponse shed = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(), shed, new MockFilterChain());
+        assertEquals(HttpServletResponse.SC_SERVICE_UNAVAILABLE, shed.getStatus());
+
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+        assertEquals(1, filter.availablePermits());
+    }
+}
@@ -0,0 +1,35 @@
+package com.project.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.outbox.FileOutboxSink;
+import com.project.outbox.InMemoryOutboxSink;
+
+class OutboxConfigTest {
+
+    private final OutboxConfig outboxConfig = new OutboxConfig();
+
+    @Test
+    @DisplayName("Check if the configured sink is created")
+    void shouldCreateConfiguredSink() {
+        assertInstanceOf(InMemoryOutboxSink.class, outboxConfig.outboxSink("memory", 10, Path.of("events.ndjson"), new ObjectMapper()));
+        assertInstanceOf(FileOutboxSink.class, outboxConfig.outboxSink(" File ", 10, Path.of("events.ndjson"), new ObjectMapper()));
+    }
+
+    @Test
+    @DisplayName("Check if an unknown sink fails with a message naming the property")
+    void shouldRejectUnknownSink() {
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> outboxConfig.outboxSink("kafka", 10, Path.of("events.ndjson"), new ObjectMapper()));
+
+        assertEquals("Unsupported app.outbox.sink 'kafka': expected memory or file", e.getMessage());
+    }
+}
@@ -0,0 +1,124 @@
+package com.project.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PoolSizePolicyTest {
+
+    @Test
+    @DisplayName("Check if the pool grows while callers wait and the database latency is normal")
+    void shouldGrowWhenCallersWait() {
+        PoolSizePolicy policy = new PoolSizePolicy(5, 50, 10, 1.5);
+
+        int next = policy.nextSize(10, new PoolSizePolicy.Sample(40, 5, 10, 0, 6));
+
+        assertEquals(15, next);
+    }
+
+    @Test
+    @DisplayName("Check if the pool shrinks when the database latency rises above the baseline")
+    void shouldShrinkWhenDatabaseSlowsDown() {
+        PoolSizePolicy policy = new PoolSizePolicy(5, 50, 10, 1.5);
+        policy.nextSize(20, new PoolSizePolicy.Sample(1, 5, 15, 5, 0));
+
+        int next = policy.nextSize(20, new PoolSizePolicy.Sample(2, 20, 18, 2, 0));
+
+        assertEquals(15, next);
+    }
+
+    @Test
+    @DisplayName("Check if the pool never shrinks while callers wait, even when usage spikes")
+    void shouldNotShrinkWhileCallersWait() {
+        PoolSizePolicy policy = new PoolSizePolicy(5, 50, 10, 1.5);
+        policy.nextSize(20, new PoolSizePolicy.Sample(1, 5, 15, 5, 0));
+
+        int next = policy.nextSize(20, new PoolSizePolicy.Sample(80, 20, 20, 0, 30));
+
+        assertEquals(20, next);
+    }
+
+    @Test
+    @DisplayName("Check if connections held for minutes by a few exports do not move the usage median")
+    void shouldIgnoreLongHeldConnections() {
+        ConnectionUsageRecorder recorder = new ConnectionUsageRecorder();
+        IMetricsTracker tracker = recorder.wrap(() -> (poolName, poolStats) -> new IMetricsTracker() {
+        }).create("primary", null);
+        for (int i = 0; i < 97; i++) {
+            tracker.recordConnectionUsageMillis(5);
+        }
+        for (int i = 0; i < 3; i++) {
+            tracker.recordConnectionUsageMillis(300_000);
+        }
+
+        double median = recorder.medianUsageMillis("primary");
+
+        assertEquals(5.0, median, 1.0);
+        assertEquals(Double.NaN, recorder.medianUsageMillis("primary"));
+        assertEquals(Double.NaN, recorder.medianUsageMillis("replica"));
+    }
+
+    @Test
+    @DisplayName("Check if usage histogram buckets bound the recorded value within a quarter")
+    void shouldBucketUsageWithinAQuarter() {
+        for (long millis : new long[] { 0, 3, 4, 7, 100, 1_000, 123_456 }) {
+            double midpoint = ConnectionUsageRecorder.UsageHistogram.midpoint(ConnectionUsageRecorder.UsageHistogram.bucket(millis));
+            assertEquals(millis, midpoint, Math.max(1, millis / 4.0));
+        }
+    }
+
+    @Test
+    @DisplayName("Check if a mostly idle pool is trimmed one connection at a time down to the minimum")
+    void shouldTrimIdlePool() {
+        PoolSizePolicy policy = new PoolSizePolicy(5, 50, 10, 1.5);
+
+        assertEquals(9, policy.nextSize(10, new PoolSizePolicy.Sample(0.1, 5, 2, 8, 0)));
+        assertEquals(5, policy.nextSize(5, new PoolSizePolicy.Sample(Double.NaN, Double.NaN, 0, 5, 0)));
+    }
+
+    @Test
+    @DisplayName("Check if the size is kept when the pool is busy without waits")
+    void shouldKeepBusyPool() {
+        PoolSizePolicy policy = new PoolSizePolicy(5, 50, 10, 1.5);
+
+        assertEquals(10, policy.nextSize(10, new PoolSizePolicy.Sample(1, 5, 8, 2, 0)));
+    }
+
+    @Test
+    @DisplayName("Check if growth is capped at the maximum size")
+    void shouldCapAtMaximum() {
+        PoolSizePolicy policy = new PoolSizePolicy(5, 12, 10, 1.5);
+
+        assertEquals(12, policy.nextSize(10, new PoolSizePolicy.Sample(40, 5, 10, 0, 50)));
+    }
+
+    @Test
+    @DisplayName("Check if invalid bounds are refused")
+    void shouldRefuseInvalidBounds() {
+        assertThrows(IllegalArgumentException.class, () -> new PoolSizePolicy(10, 5, 10, 1.5));
+    }
+
+    @Test
+    @DisplayName("Check if timer windows report the mean of the last interval only")
+    void shouldMeasureTimerWindow() {
+        Timer timer = new SimpleMeterRegistry().timer("hikaricp.connections.acquire");
+        AdaptivePoolSizer.TimerWindow window = new AdaptivePoolSizer.TimerWindow();
+        timer.record(100, TimeUnit.MILLISECONDS);
+        window.meanSince(timer);
+
+        timer.record(10, TimeUnit.MILLISECONDS);
+        timer.record(30, TimeUnit.MILLISECONDS);
+
+        assertEquals(20.0, window.meanSince(timer), 0.001);
+        assertEquals(Double.NaN, window.meanSince(timer));
+    }
+}
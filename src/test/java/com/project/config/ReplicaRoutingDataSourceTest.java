@@ -0,0 +1,226 @@
+package com.project.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import jakarta.servlet.http.Cookie;
+
+class ReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+    private JdbcTemplate replicaJdbcTemplate;
+    private ReplicaLagMonitor monitor;
+    private Connection primaryConnection;
+    private Connection replicaConnection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primary = mock(DataSource.class);
+        replica = mock(DataSource.class);
+        primaryConnection = mock(Connection.class);
+        replicaConnection = mock(Connection.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        replicaJdbcTemplate = mock(JdbcTemplate.class);
+        monitor = new ReplicaLagMonitor(replicaJdbcTemplate, Duration.ofSeconds(5), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("Check if read-only transactions use the replica when it is in sync")
+    void shouldRouteReadOnlyToReplica() throws SQLException {
+        when(replicaJdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(0L);
+        monitor.check();
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, replica, monitor, Duration.ZERO);
+
+        readOnlyTransaction();
+
+        assertSame(replicaConnection, dataSource.getConnection());
+    }
+
+    @Test
+    @DisplayName("Check if read-only transactions pinned to the primary do not use the replica")
+    void shouldKeepPinnedReadsOnPrimary() throws SQLException {
+        when(replicaJdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(0L);
+        monitor.check();
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, replica, monitor, Duration.ZERO);
+
+        readOnlyTransaction();
+
+        assertSame(primaryConnection, ReplicaRoutingDataSource.onPrimary(() -> {
+            try {
+                return dataSource.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+        assertSame(replicaConnection, dataSource.getConnection());
+    }
+
+    @Test
+    @DisplayName("Check if writes and non-transactional access use the primary")
+    void shouldRouteWritesToPrimary() throws SQLException {
+        when(replicaJdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(0L);
+        monitor.check();
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, replica, monitor, Duration.ZERO);
+
+        assertSame(primaryConnection, dataSource.getConnection());
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        assertSame(primaryConnection, dataSource.getConnection());
+    }
+
+    @Test
+    @DisplayName("Check if reads fall back to the primary while the replica lags")
+    void shouldFallBackWhenReplicaLags() throws SQLException {
+        when(replicaJdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(30_000L);
+        monitor.check();
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, replica, monitor, Duration.ZERO);
+
+        readOnlyTransaction();
+
+        assertSame(primaryConnection, dataSource.getConnection());
+    }
+
+    @Test
+    @DisplayName("Check if reads fall back to the primary when the lag check fails")
+    void shouldFallBackWhenLagCheckFails() throws SQLException {
+        when(replicaJdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenThrow(new DataAccessResourceFailureException("down"));
+        monitor.check();
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, replica, monitor, Duration.ZERO);
+
+        readOnlyTransaction();
+
+        assertSame(primaryConnection, dataSource.getConnection());
+    }
+
+    @Test
+    @DisplayName("Check if a replica whose WAL receiver is not streaming is not used")
+    void shouldFallBackWhenReplicaIsNotStreaming() throws SQLException {
+        when(replicaJdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(0L, -1L);
+        monitor.check();
+        assertTrue(monitor.isReplicaUsable());
+        monitor.check();
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, replica, monitor, Duration.ZERO);
+
+        readOnlyTransaction();
+
+        assertSame(primaryConnection, dataSource.getConnection());
+        assertFalse(monitor.isReplicaUsable());
+        assertEquals(-1, monitor.lagMillis());
+    }
+
+    @Test
+    @DisplayName("Check if a replica connection failure falls back to the primary and marks the replica down")
+    void shouldFallBackWhenReplicaConnectionFails() throws SQLException {
+        when(replicaJdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(0L);
+        monitor.check();
+        when(replica.getConnection()).thenThrow(new SQLException("connection refused"));
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, replica, monitor, Duration.ZERO);
+
+        readOnlyTransaction();
+
+        assertSame(primaryConnection, dataSource.getConnection());
+        assertFalse(monitor.isReplicaUsable());
+    }
+
+    @Test
+    @DisplayName("Check if a client reading right after its own write stays on the primary")
+    void shouldReadYourWrites() throws SQLException {
+        when(replicaJdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(0L);
+        monitor.check();
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, replica, monitor, Duration.ofMinutes(1));
+
+        MockHttpServletResponse writeResponse = request(new MockHttpServletRequest());
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        dataSource.getConnection();
+        readOnlyTransaction();
+        assertSame(primaryConnection, dataSource.getConnection());
+
+        Cookie lastWrite = writeResponse.getCookie(ReplicaRoutingDataSource.LAST_WRITE_COOKIE);
+        assertNotNull(lastWrite);
+        assertEquals(60, lastWrite.getMaxAge());
+        MockHttpServletRequest sameClient = new MockHttpServletRequest();
+        sameClient.setCookies(lastWrite);
+        request(sameClient);
+        assertSame(primaryConnection, dataSource.getConnection());
+    }
+
+    @Test
+    @DisplayName("Check if a write by one client does not keep other clients off the replica")
+    void shouldNotPinOtherClients() throws SQLException {
+        when(replicaJdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(0L);
+        monitor.check();
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, replica, monitor, Duration.ofMinutes(1));
+
+        request(new MockHttpServletRequest());
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        dataSource.getConnection();
+
+        request(new MockHttpServletRequest());
+        readOnlyTransaction();
+        assertSame(replicaConnection, dataSource.getConnection());
+        RequestContextHolder.resetRequestAttributes();
+        assertSame(replicaConnection, dataSource.getConnection());
+    }
+
+    @Test
+    @DisplayName("Check if an expired or forged last-write cookie does not pin the client")
+    void shouldIgnoreStaleLastWriteCookie() throws SQLException {
+        when(replicaJdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(0L);
+        monitor.check();
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(primary, replica, monitor, Duration.ofSeconds(5));
+        readOnlyTransaction();
+
+        for (String value : new String[] { Long.toString(System.currentTimeMillis() - 60_000), "9999999999999", "x" }) {
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            request.setCookies(new Cookie(ReplicaRoutingDataSource.LAST_WRITE_COOKIE, value));
+            request(request);
+            assertSame(replicaConnection, dataSource.getConnection());
+        }
+    }
+
+    private MockHttpServletResponse request(MockHttpServletRequest request) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        return response;
+    }
+
+    private void readOnlyTransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    }
+}
@@ -0,0 +1,67 @@
+package com.project.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.test.context.ConfigDataApplicationContextInitializer;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+class WebMvcAsyncConfigTest {
+
+    private final WebApplicationContextRunner contextRunner = new WebApplicationContextRunner()
+            .withInitializer(new ConfigDataApplicationContextInitializer())
+            .withConfiguration(AutoConfigurations.of(WebMvcAutoConfiguration.class, DispatcherServletAutoConfiguration.class,
+                    HttpMessageConvertersAutoConfiguration.class, JacksonAutoConfiguration.class,
+                    TaskExecutionAutoConfiguration.class))
+            .withUserConfiguration(SwaggerConfig.class, WebConfig.class, CorsConfig.class);
+
+    @Test
+    @DisplayName("Check if MVC async requests such as the NDJSON export get the configured 30 minute timeout")
+    void shouldApplyAsyncRequestTimeout() {
+        contextRunner.run(context -> {
+            RequestMappingHandlerAdapter adapter = context.getBean(RequestMappingHandlerAdapter.class);
+
+            assertThat(ReflectionTestUtils.getField(adapter, "asyncRequestTimeout")).isEqualTo(30 * 60 * 1000L);
+        });
+    }
+
+    @Test
+    @DisplayName("Check if MVC async work runs on the application task executor rather than a default one")
+    void shouldUseApplicationTaskExecutor() {
+        contextRunner.run(context -> {
+            RequestMappingHandlerAdapter adapter = context.getBean(RequestMappingHandlerAdapter.class);
+
+            assertThat(ReflectionTestUtils.getField(adapter, "taskExecutor"))
+                    .isSameAs(context.getBean(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME));
+        });
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    @DisplayName("Check if MVC async work runs on virtual threads in the virtual-threads profile")
+    void shouldRunAsyncWorkOnVirtualThreads() {
+        contextRunner.withPropertyValues("spring.profiles.active=virtual-threads").run(context -> {
+            RequestMappingHandlerAdapter adapter = context.getBean(RequestMappingHandlerAdapter.class);
+            AsyncTaskExecutor executor = (AsyncTaskExecutor) ReflectionTestUtils.getField(adapter, "taskExecutor");
+
+            Future<Object> virtual = executor.submit(() -> Thread.class.getMethod("isVirtual").invoke(Thread.currentThread()));
+
+            assertThat(virtual.get(5, TimeUnit.SECONDS)).isEqualTo(true);
+        });
+    }
+}
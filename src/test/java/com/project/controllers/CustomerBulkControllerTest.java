@@ -0,0 +1,91 @@
+package com.project.controllers;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.project.exceptions.InvalidRequestException;
+import com.project.models.dtos.BulkRequest;
+import com.project.models.dtos.BulkResponse;
+import com.project.service.impl.CustomerBulkServiceImpl;
+
+@WebMvcTest(CustomerBulkController.class)
+class CustomerBulkControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @MockBean
+    private CustomerBulkServiceImpl customerBulkService;
+
+    @Test
+    @DisplayName("Check if a bulk soft delete by ids returns the affected row count")
+    void shouldSoftDeleteByIds() throws Exception {
+        when(customerBulkService.softDelete(any(BulkRequest.class))).thenReturn(new BulkResponse(3, 2));
+
+        mockMvc.perform(post("/api/v1/customers/bulk/delete")
+                .contentType(APPLICATION_JSON)
+                .content("{\"ids\":[1,2,3]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matched").value(3))
+                .andExpect(jsonPath("$.affected").value(2));
+
+        verify(customerBulkService, times(1)).softDelete(any(BulkRequest.class));
+    }
+
+    @Test
+    @DisplayName("Check if a bulk activation toggle by filter returns the affected row count")
+    void shouldToggleActivationByFilter() throws Exception {
+        when(customerBulkService.toggleActivation(any(BulkRequest.class))).thenReturn(new BulkResponse(10, 10));
+
+        mockMvc.perform(post("/api/v1/customers/bulk/toggle")
+                .contentType(APPLICATION_JSON)
+                .content("{\"filter\":{\"state\":\"SP\",\"active\":true}}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matched").value(10))
+                .andExpect(jsonPath("$.affected").value(10));
+
+        verify(customerBulkService, times(1)).toggleActivation(any(BulkRequest.class));
+    }
+
+    @Test
+    @DisplayName("Check if a partially applied bulk request is answered with the committed counts and an error")
+    void shouldReportPartialFailure() throws Exception {
+        when(customerBulkService.softDelete(any(BulkRequest.class)))
+        	.thenReturn(new BulkResponse(1000, 990, "Lote interrompido por erro no banco; apenas os registros contados foram alterados."));
+
+        mockMvc.perform(post("/api/v1/customers/bulk/delete")
+                .contentType(APPLICATION_JSON)
+                .content("{\"filter\":{\"state\":\"SP\"}}"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.matched").value(1000))
+                .andExpect(jsonPath("$.affected").value(990))
+                .andExpect(jsonPath("$.error").exists());
+    }
+
+    @Test
+    @DisplayName("Check if an invalid bulk request is answered with Bad Request")
+    void shouldRejectInvalidRequest() throws Exception {
+        when(customerBulkService.softDelete(any(BulkRequest.class)))
+        	.thenThrow(new InvalidRequestException("Informe os ids ou ao menos um filtro."));
+
+        mockMvc.perform(post("/api/v1/customers/bulk/delete")
+                .contentType(APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Informe os ids ou ao menos um filtro."));
+    }
+
+}
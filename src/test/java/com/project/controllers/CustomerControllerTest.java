@@ -3,11 +3,15 @@ package com.project.controllers;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
@@ -16,10 +20,15 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -30,20 +39,36 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.project.config.CacheConfig;
 import com.project.entities.Customer;
 import com.project.exceptions.ResourceNotFoundException;
+import com.project.models.dtos.BatchItemResult;
+import com.project.models.dtos.CursorPage;
+import com.project.models.dtos.SlicePage;
 import com.project.models.mocks.CustomerMock;
+import com.project.outbox.OutboxWriter;
+import com.project.repositories.CustomerRepository;
+import com.project.service.CustomerUniquenessService;
+import com.project.service.impl.CustomerCache;
 import com.project.service.impl.CustomerServiceImpl;
+import com.project.utils.CustomerFields;
+import com.project.utils.CustomerFilter;
 import com.project.utils.PaginationRequest;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import jakarta.validation.Validator;
+
 @WebMvcTest(CustomerController.class)
 class CustomerControllerTest {
 
@@ -78,7 +103,7 @@ class CustomerControllerTest {
     void shouldReturnListOfCustomers() throws Exception {
     	Page<Customer> customerPage = new PageImpl<>(customerList, PageRequest.of(0, customerList.size()), customerList.size());
     	
-        when(customerService.findAll(any(PaginationRequest.class))).thenReturn(customerPage);
+        when(customerService.findAll(any(PaginationRequest.class), any(CustomerFilter.class))).thenReturn(customerPage);
         
         mockMvc.perform(get("/api/v1/customers")
                 .contentType(APPLICATION_JSON))
@@ -91,7 +116,104 @@ class CustomerControllerTest {
         assertThat(customerList.get(0).getId()).isEqualTo(1);
         assertThat(customerList.get(0).getName()).isEqualTo("João Silva");
         
-        verify(customerService, times(1)).findAll(any(PaginationRequest.class));
+        verify(customerService, times(1)).findAll(any(PaginationRequest.class), any(CustomerFilter.class));
+    }
+
+    @Test
+    @DisplayName("Check if filter parameters are bound on the list endpoint")
+    void shouldBindFilterParameters() throws Exception {
+    	Page<Customer> customerPage = new PageImpl<>(customerList.subList(0, 1), PageRequest.of(0, 10), 1);
+        when(customerService.findAll(any(PaginationRequest.class), any(CustomerFilter.class))).thenReturn(customerPage);
+
+        mockMvc.perform(get("/api/v1/customers")
+        		.param("state", "SP")
+        		.param("country", "Brasil")
+        		.param("active", "true")
+                .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].state").value("SP"));
+
+        verify(customerService, times(1)).findAll(any(PaginationRequest.class), argThat(filter ->
+        		filter.getCity() == null && "SP".equals(filter.getState())
+        		&& "Brasil".equals(filter.getCountry()) && Boolean.TRUE.equals(filter.getActive())));
+    }
+
+    @Test
+    @DisplayName("Check if a count-free Slice of Customers is returned")
+    void shouldReturnSliceOfCustomers() throws Exception {
+        when(customerService.findSlice(any(PaginationRequest.class), any(CustomerFilter.class), eq(true)))
+        	.thenReturn(new SlicePage<>(customerList, 0, 2, true, 1500L));
+
+        mockMvc.perform(get("/api/v1/customers/slice")
+        		.param("size", "2")
+        		.param("approximateTotal", "true")
+                .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].name").value("João Silva"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.approximateTotal").value(1500));
+
+        verify(customerService, times(1)).findSlice(any(PaginationRequest.class), any(CustomerFilter.class), eq(true));
+    }
+
+    @Test
+    @DisplayName("Check if a cursor page of Customers is returned")
+    void shouldReturnCursorPageOfCustomers() throws Exception {
+    	CursorPage<Customer> customerPage = new CursorPage<>(customerList, 2, true, "bmV4dA");
+    	
+        when(customerService.findAllByCursor(any(PaginationRequest.class))).thenReturn(customerPage);
+        
+        mockMvc.perform(get("/api/v1/customers/scroll")
+        		.param("size", "2")
+                .param("after", "YWZ0ZXI")
+                .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(APPLICATION_JSON))
+                .andExpect(jsonPath("$.content[1].name").value("Maria Pinheiro"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.next").value("bmV4dA"));
+        
+        verify(customerService, times(1)).findAllByCursor(argThat(request -> "YWZ0ZXI".equals(request.getAfter())));
+    }
+
+    @Test
+    @DisplayName("Check if search results are returned as a page")
+    void shouldReturnSearchResults() throws Exception {
+    	Page<Customer> customerPage = new PageImpl<>(customerList.subList(1, 2), PageRequest.of(0, 10), 1);
+        when(customerService.search(eq("maria"), any(PaginationRequest.class))).thenReturn(customerPage);
+
+        mockMvc.perform(get("/api/v1/customers/search")
+        		.param("q", "maria")
+                .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(2))
+                .andExpect(jsonPath("$.content[0].name").value("Maria Pinheiro"));
+
+        verify(customerService, times(1)).search(eq("maria"), any(PaginationRequest.class));
+    }
+
+    @Test
+    @DisplayName("Check if Customers are exported as NDJSON")
+    void shouldExportCustomersAsNdjson() throws Exception {
+    	doAnswer(invocation -> {
+    		Consumer<Customer> consumer = invocation.getArgument(0);
+    		customerList.forEach(consumer);
+    		return null;
+    	}).when(customerService).exportAll(any());
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/customers/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String content = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = content.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines[0], Customer.class).getName()).isEqualTo("João Silva");
+        assertThat(objectMapper.readValue(lines[1], Customer.class).getName()).isEqualTo("Maria Pinheiro");
     }
 
     @Test
@@ -117,6 +239,141 @@ class CustomerControllerTest {
         verify(customerService, times(1)).findById(1L);
     }
 
+    @Test
+    @DisplayName("Check if only the requested fields are written for a list")
+    void shouldReturnRequestedFieldsOfCustomers() throws Exception {
+    	Page<Map<String, Object>> fieldsPage = new PageImpl<>(List.of(Map.of("id", 1L, "name", "João Silva")), PageRequest.of(0, 10), 1);
+        when(customerService.findAll(any(PaginationRequest.class), any(CustomerFilter.class), any(CustomerFields.class)))
+        	.thenReturn(fieldsPage);
+
+        mockMvc.perform(get("/api/v1/customers")
+        		.param("fields", "id,name"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.content[0].name").value("João Silva"))
+                .andExpect(jsonPath("$.content[0].email").doesNotExist());
+
+        verify(customerService, times(1)).findAll(any(PaginationRequest.class), any(CustomerFilter.class),
+        		argThat(fields -> fields.names().equals(List.of("id", "name"))));
+    }
+
+    @Test
+    @DisplayName("Check if only the requested fields are written for a single Customer")
+    void shouldReturnRequestedFieldsOfCustomer() throws Exception {
+        when(customerService.findById(eq(1L), any(CustomerFields.class))).thenReturn(Map.of("city", "São Paulo"));
+
+        mockMvc.perform(get("/api/v1/customers/1")
+        		.param("fields", "city"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.city").value("São Paulo"))
+                .andExpect(jsonPath("$.id").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Check if an unknown field is answered with 400")
+    void shouldRejectUnknownField() throws Exception {
+        mockMvc.perform(get("/api/v1/customers/1")
+        		.param("fields", "password"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Check if a Customer is returned with an ETag from its row version")
+    void shouldReturnCustomerWithETag() throws Exception {
+    	customer.setVersion(3L);
+        when(customerService.findById(1L)).thenReturn(customer);
+
+        mockMvc.perform(get("/api/v1/customers/1")
+                .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-3\""));
+    }
+
+    @Test
+    @DisplayName("Check if a matching If-None-Match is answered with 304 and no body")
+    void shouldReturnNotModifiedForMatchingETag() throws Exception {
+    	customer.setVersion(3L);
+        when(customerService.findById(1L)).thenReturn(customer);
+
+        mockMvc.perform(get("/api/v1/customers/1")
+        		.header("If-None-Match", "\"1-3\"")
+                .contentType(APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        customer.setVersion(4L);
+        mockMvc.perform(get("/api/v1/customers/1")
+        		.header("If-None-Match", "\"1-3\"")
+                .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-4\""));
+    }
+
+    @Test
+    @DisplayName("Check if a conditional GET after an update returns 200 with the new ETag")
+    void shouldReturnNewETagAfterUpdate() throws Exception {
+        CustomerRepository customerRepository = mock(CustomerRepository.class);
+        CustomerServiceImpl service = new CustomerServiceImpl(customerRepository,
+        		new CustomerCache(new ConcurrentMapCacheManager(CacheConfig.CUSTOMERS)), mock(Validator.class),
+        		mock(PlatformTransactionManager.class), null, null, mock(OutboxWriter.class),
+        		mock(CustomerUniquenessService.class), new SimpleMeterRegistry());
+        when(customerService.findById(1L)).thenAnswer(invocation -> service.findById(1L));
+        when(customerService.update(eq(1L), any(Customer.class)))
+        	.thenAnswer(invocation -> service.update(1L, invocation.getArgument(1)));
+        Customer stored = customerMock.single();
+        stored.setVersion(3L);
+        Customer updated = customerMock.single();
+        updated.setName("Novo Nome");
+        updated.setVersion(4L);
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(stored), Optional.of(updated));
+        when(customerRepository.updateActive(eq(1L), any(Customer.class))).thenReturn(Optional.of(updated));
+
+        mockMvc.perform(get("/api/v1/customers/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-3\""));
+        mockMvc.perform(put("/api/v1/customers/1")
+                .contentType(APPLICATION_JSON)
+                .content("{\"name\":\"Novo Nome\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-4\""));
+        mockMvc.perform(get("/api/v1/customers/1")
+        		.header("If-None-Match", "\"1-3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1-4\""))
+                .andExpect(jsonPath("$.name").value("Novo Nome"));
+
+        verify(customerRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Check if pages carry an ETag and the latest Last-Modified of their rows")
+    void shouldReturnPageWithValidators() throws Exception {
+    	Instant older = Instant.parse("2024-05-10T10:00:00Z");
+    	Instant newer = Instant.parse("2024-05-11T10:00:00Z");
+    	customerList.get(0).setLastModified(older);
+    	customerList.get(1).setLastModified(newer);
+    	Page<Customer> customerPage = new PageImpl<>(customerList, PageRequest.of(0, customerList.size()), customerList.size());
+        when(customerService.findAll(any(PaginationRequest.class), any(CustomerFilter.class))).thenReturn(customerPage);
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/v1/customers")
+                .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().dateValue("Last-Modified", newer.toEpochMilli()))
+                .andReturn();
+        String eTag = mvcResult.getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/customers")
+        		.header("If-None-Match", eTag)
+                .contentType(APPLICATION_JSON))
+                .andExpect(status().isNotModified());
+
+        customerList.get(1).setVersion(1L);
+        mockMvc.perform(get("/api/v1/customers")
+        		.header("If-None-Match", eTag)
+                .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk());
+    }
+
     @Test
     @DisplayName("Check if a new Customer is created")
     void shouldCreateAnCustomer() throws Exception {
@@ -142,6 +399,26 @@ class CustomerControllerTest {
         verify(customerService, times(1)).save(any(Customer.class));
     }
 
+    @Test
+    @DisplayName("Check if a batch of Customers is created with per-item results")
+    void shouldCreateBatchOfCustomers() throws Exception {
+        when(customerService.saveAll(any())).thenReturn(List.of(
+        		BatchItemResult.created(0, 1L),
+        		BatchItemResult.rejected(1, "Registro já existe no banco de dados.")));
+
+        mockMvc.perform(post("/api/v1/customers/batch")
+                .contentType(APPLICATION_JSON)
+                .content("[{\"name\":\"João Silva\"},{\"name\":\"Maria Pinheiro\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(1))
+                .andExpect(jsonPath("$.items[1].status").value("REJECTED"));
+
+        verify(customerService, times(1)).saveAll(argThat(customers -> customers.size() == 2));
+    }
+
     @Test
     @DisplayName("Check if the selected Customer is updated")
     void shouldUpdateAnCustomer() throws Exception {
@@ -0,0 +1,58 @@
+package com.project.controllers;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.project.models.dtos.ImportRejection;
+import com.project.models.dtos.ImportReport;
+import com.project.service.impl.CustomerImportServiceImpl;
+
+@WebMvcTest(CustomerImportController.class)
+class CustomerImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @MockBean
+    private CustomerImportServiceImpl customerImportService;
+
+    @Test
+    @DisplayName("Check if an uploaded CSV is imported and the rejected rows are reported")
+    void shouldImportCsv() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "customers.csv", "text/csv",
+        		"name,cpf,email,phone,city,state,country\nJoão Silva,27802535093,joao@email.com,,São Paulo,SP,Brasil\n"
+        		.getBytes(StandardCharsets.UTF_8));
+        when(customerImportService.importCsv(any(InputStream.class)))
+        	.thenReturn(new ImportReport(2, 1, 1, List.of(new ImportRejection(3, "Registro já existe no banco de dados."))));
+
+        mockMvc.perform(multipart("/api/v1/customers/import").file(file))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(APPLICATION_JSON))
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejections[0].line").value(3))
+                .andExpect(jsonPath("$.rejections[0].reason").value("Registro já existe no banco de dados."));
+
+        verify(customerImportService, times(1)).importCsv(any(InputStream.class));
+    }
+
+}
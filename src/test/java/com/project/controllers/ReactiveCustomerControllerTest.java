@@ -0,0 +1,141 @@
+package com.project.controllers;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.project.entities.Customer;
+import com.project.exceptions.ResourceNotFoundException;
+import com.project.models.mocks.CustomerMock;
+import com.project.service.ReactiveCustomerService;
+import com.project.utils.CustomerFilter;
+import com.project.utils.PaginationRequest;
+
+import reactor.core.publisher.Mono;
+
+@WebFluxTest(ReactiveCustomerController.class)
+class ReactiveCustomerControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReactiveCustomerService customerService;
+
+    private final CustomerMock customerMock = new CustomerMock();
+
+    private Customer customer;
+    private List<Customer> customerList;
+
+    @BeforeEach
+    void setUp() {
+        customer = customerMock.single();
+        customerList = customerMock.list();
+    }
+
+    @Test
+    @DisplayName("Check if a page of Customers is returned with its page metadata")
+    void shouldReturnPageOfCustomers() {
+        when(customerService.findAll(any(PaginationRequest.class), any(CustomerFilter.class)))
+        	.thenReturn(Mono.just(new PageImpl<>(customerList, PageRequest.of(0, 10), customerList.size())));
+
+        webTestClient.get().uri("/api/v1/customers?state=SP")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content[0].id").isEqualTo(1)
+                .jsonPath("$.content[0].name").isEqualTo("João Silva")
+                .jsonPath("$.page.totalElements").isEqualTo(customerList.size());
+
+        verify(customerService, times(1)).findAll(any(PaginationRequest.class), argThat(filter -> "SP".equals(filter.getState())));
+    }
+
+    @Test
+    @DisplayName("Check if a Customer is returned by id")
+    void shouldReturnCustomerById() {
+        when(customerService.findById(1L)).thenReturn(Mono.just(customer));
+
+        webTestClient.get().uri("/api/v1/customers/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(1)
+                .jsonPath("$.name").isEqualTo("João Silva");
+    }
+
+    @Test
+    @DisplayName("Check if a missing Customer is answered with 404")
+    void shouldReturnNotFound() {
+        when(customerService.findById(99L)).thenReturn(Mono.error(new ResourceNotFoundException(99L)));
+
+        webTestClient.get().uri("/api/v1/customers/99")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Resource not found: ID 99");
+    }
+
+    @Test
+    @DisplayName("Check if a created Customer is returned with its location")
+    void shouldCreateCustomer() {
+        when(customerService.save(any(Customer.class))).thenReturn(Mono.just(customer));
+
+        webTestClient.post().uri("/api/v1/customers")
+                .contentType(APPLICATION_JSON)
+                .bodyValue("{\"name\":\"João Silva\"}")
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().value("Location", location -> location.endsWith("/api/v1/customers/1"))
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Check if a duplicate Customer is answered with 409")
+    void shouldReturnConflictOnDuplicate() {
+        when(customerService.save(any(Customer.class)))
+        	.thenReturn(Mono.error(new DataIntegrityViolationException("Registro já existe no banco de dados.")));
+
+        webTestClient.post().uri("/api/v1/customers")
+                .contentType(APPLICATION_JSON)
+                .bodyValue("{\"name\":\"João Silva\"}")
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Registro já existe no banco de dados.");
+    }
+
+    @Test
+    @DisplayName("Check if soft delete and toggle return their messages")
+    void shouldDeleteAndToggleCustomer() {
+        when(customerService.delete(eq(1L))).thenReturn(Mono.just("Registro removido com sucesso."));
+        when(customerService.toggleActivateAccount(eq(1L))).thenReturn(Mono.just("Cadastro inativado com sucesso."));
+
+        webTestClient.delete().uri("/api/v1/customers/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("Registro removido com sucesso.");
+        webTestClient.patch().uri("/api/v1/customers/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("Cadastro inativado com sucesso.");
+    }
+
+}
@@ -22,10 +22,12 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.project.controllers.CustomerController;
 import com.project.entities.Customer;
 import com.project.models.mocks.CustomerMock;
 import com.project.service.impl.CustomerServiceImpl;
+import com.project.utils.CustomerFilter;
 import com.project.utils.PaginationRequest;
 
 import jakarta.validation.ConstraintViolationException;
@@ -47,7 +49,7 @@ public class GlobalExceptionHandlerTest {
     
     @BeforeEach
     void setUp() {
-        mockMvc = MockMvcBuilders.standaloneSetup(new CustomerController(customerService))
+        mockMvc = MockMvcBuilders.standaloneSetup(new CustomerController(customerService, new ObjectMapper()))
                 .setControllerAdvice(new GlobalExceptionHandler())
                 .build();
         
@@ -106,10 +108,34 @@ public class GlobalExceptionHandlerTest {
                 .andExpect(jsonPath("$.path").value("/api/v1/customers"));
     }
 
+    @Test
+    @DisplayName("Check if InvalidCursorException is answered with Bad Request")
+    void shouldReturnInvalidCursorError() throws Exception {
+        when(customerService.findAllByCursor(any(PaginationRequest.class)))
+        	.thenThrow(new InvalidCursorException("bm9wZQ"));
+
+        mockMvc.perform(get("/api/v1/customers/scroll").param("after", "bm9wZQ"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid cursor"))
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.message").value("Invalid cursor: bm9wZQ"))
+                .andExpect(jsonPath("$.path").value("/api/v1/customers/scroll"));
+    }
+
+    @Test
+    @DisplayName("Check if an unexpected IllegalArgumentException is not reported as a bad request")
+    void shouldNotMapIllegalArgumentToBadRequest() throws Exception {
+        when(customerService.findAll(any(PaginationRequest.class), any(CustomerFilter.class)))
+    		.thenThrow(new IllegalArgumentException("bug"));
+
+        mockMvc.perform(get("/api/v1/customers"))
+                .andExpect(status().isInternalServerError());
+    }
+
     @Test
     @DisplayName("Check if general Exception is thrown")
     void shouldReturnInternalServerError() throws Exception {
-        when(customerService.findAll(any(PaginationRequest.class)))
+        when(customerService.findAll(any(PaginationRequest.class), any(CustomerFilter.class)))
     		.thenThrow(new RuntimeException("Not identified error"));
         
         mockMvc.perform(get("/api/v1/customers"))
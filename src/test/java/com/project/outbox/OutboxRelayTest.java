@@ -0,0 +1,104 @@
+package com.project.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.project.entities.OutboxEvent;
+import com.project.models.dtos.CustomerEvent;
+import com.project.models.enums.CustomerEventType;
+import com.project.repositories.OutboxEventRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class OutboxRelayTest {
+
+    private OutboxEventRepository outboxEventRepository;
+    private InMemoryOutboxSink sink;
+    private SimpleMeterRegistry registry;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository = mock(OutboxEventRepository.class);
+        sink = new InMemoryOutboxSink(10);
+        registry = new SimpleMeterRegistry();
+        relay = new OutboxRelay(outboxEventRepository, sink, mock(PlatformTransactionManager.class), registry, 2, 10);
+    }
+
+    @Test
+    @DisplayName("Check if pending events are published and then deleted")
+    void shouldPublishAndDeleteEvents() {
+        OutboxEvent first = event(1L);
+        OutboxEvent second = event(2L);
+        OutboxEvent third = event(3L);
+        when(outboxEventRepository.lockNextBatch(2)).thenReturn(List.of(first, second), List.of(third));
+
+        relay.relay();
+
+        assertEquals(3, sink.events().size());
+        assertEquals(1L, sink.events().get(0).customerId());
+        verify(outboxEventRepository, times(1)).deleteAllByIdInBatch(List.of(first.getId(), second.getId()));
+        verify(outboxEventRepository, times(1)).deleteAllByIdInBatch(List.of(third.getId()));
+        assertEquals(3.0, registry.get("outbox.published").counter().count());
+    }
+
+    @Test
+    @DisplayName("Check if events stay in the outbox when the sink fails")
+    void shouldKeepEventsWhenSinkFails() throws Exception {
+        OutboxSink failingSink = mock(OutboxSink.class);
+        doThrow(new IllegalStateException("down")).when(failingSink).publish(anyList());
+        relay = new OutboxRelay(outboxEventRepository, failingSink, mock(PlatformTransactionManager.class), registry, 2, 10);
+        when(outboxEventRepository.lockNextBatch(2)).thenReturn(List.of(event(1L)));
+
+        relay.relay();
+
+        verify(outboxEventRepository, never()).deleteAllByIdInBatch(anyList());
+    }
+
+    @Test
+    @DisplayName("Check if the lag gauge reports the age of the oldest pending event")
+    void shouldReportLag() {
+        when(outboxEventRepository.lockNextBatch(2)).thenReturn(List.of());
+        when(outboxEventRepository.findOldestOccurredAt()).thenReturn(Instant.now().minusSeconds(30));
+
+        relay.relay();
+
+        assertTrue(relay.lagMillis() >= 30_000);
+        assertTrue(registry.get("outbox.lag").gauge().value() >= 30.0);
+    }
+
+    @Test
+    @DisplayName("Check if the in-memory sink drops the oldest events beyond its capacity")
+    void shouldBoundInMemorySink() {
+        InMemoryOutboxSink bounded = new InMemoryOutboxSink(2);
+
+        bounded.publish(List.of(CustomerEvent.of(event(1L)),
+        		CustomerEvent.of(event(2L)),
+        		CustomerEvent.of(event(3L))));
+
+        assertEquals(2, bounded.events().size());
+        assertEquals(2L, bounded.events().get(0).customerId());
+    }
+
+    private OutboxEvent event(Long customerId) {
+        OutboxEvent event = new OutboxEvent(customerId, CustomerEventType.CREATED, "{}", Instant.now());
+        event.setId(UUID.randomUUID());
+        return event;
+    }
+}
@@ -0,0 +1,119 @@
+package com.project.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.project.entities.Customer;
+import com.project.models.enums.Datastate;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+
+class CustomerRepositoryCustomImplTest {
+
+    private CriteriaBuilder builder;
+
+    private TypedQuery<Customer> query;
+
+    private CustomerRepositoryCustomImpl repository;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        EntityManager entityManager = mock(EntityManager.class);
+        builder = mock(CriteriaBuilder.class, RETURNS_DEEP_STUBS);
+        query = mock(TypedQuery.class);
+        when(entityManager.getCriteriaBuilder()).thenReturn(builder);
+        when(entityManager.createQuery(any(CriteriaQuery.class))).thenReturn(query);
+        when(query.setMaxResults(anyInt())).thenReturn(query);
+        repository = new CustomerRepositoryCustomImpl();
+        ReflectionTestUtils.setField(repository, "entityManager", entityManager);
+    }
+
+    @Test
+    @DisplayName("Check if rows with a null sort key follow the others instead of being skipped")
+    @SuppressWarnings("unchecked")
+    void shouldContinueIntoNullKeys() {
+        when(query.getResultList()).thenReturn(List.of(customer(1L, "Ana")), List.of(customer(7L, null), customer(9L, null)));
+
+        Window<Customer> window = repository.scrollByDatastate(Datastate.ATIVO, ScrollPosition.keyset(), Limit.of(2),
+                Sort.Order.asc("name"));
+
+        assertEquals(List.of(1L, 7L), window.getContent().stream().map(Customer::getId).toList());
+        assertTrue(window.hasNext());
+        assertEquals(keys(null, 7L), ((KeysetScrollPosition) window.positionAt(1)).getKeys());
+        verify(query, times(1)).setMaxResults(3);
+        verify(query, times(1)).setMaxResults(2);
+    }
+
+    @Test
+    @DisplayName("Check if a cursor on a null sort key only reads the remaining null keys")
+    @SuppressWarnings("unchecked")
+    void shouldContinueAfterNullKey() {
+        when(query.getResultList()).thenReturn(List.of(customer(9L, null)));
+
+        Window<Customer> window = repository.scrollByDatastate(Datastate.ATIVO, ScrollPosition.forward(keys(null, 7L)),
+                Limit.of(2), Sort.Order.asc("name"));
+
+        assertEquals(1, window.size());
+        assertFalse(window.hasNext());
+        verify(builder, never()).isNotNull(any(Expression.class));
+        verify(builder, times(1)).isNull(any(Expression.class));
+        verify(builder, times(1)).greaterThan(any(Expression.class), eq(7L));
+    }
+
+    @Test
+    @DisplayName("Check if scrolling by id runs a single query")
+    @SuppressWarnings("unchecked")
+    void shouldScrollById() {
+        when(query.getResultList()).thenReturn(List.of(customer(8L, "Ana")));
+
+        Window<Customer> window = repository.scrollByDatastate(Datastate.ATIVO, ScrollPosition.forward(Map.of("id", 7L)),
+                Limit.of(2), Sort.Order.asc("id"));
+
+        assertEquals(Map.of("id", 8L), ((KeysetScrollPosition) window.positionAt(0)).getKeys());
+        verify(query, times(1)).getResultList();
+        verify(builder, never()).isNull(any(Expression.class));
+    }
+
+    private static Map<String, Object> keys(String name, Long id) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("name", name);
+        keys.put("id", id);
+        return keys;
+    }
+
+    private static Customer customer(Long id, String name) {
+        Customer customer = new Customer(name, null, null, null, null, null, null, null, null, Datastate.ATIVO);
+        customer.setId(id);
+        return customer;
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.project.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import com.project.service.impl.ApproximateCountServiceImpl;
+
+class ApproximateCountServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    
+    @InjectMocks
+    private ApproximateCountServiceImpl approximateCountService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    @DisplayName("Check if the planner estimate is used when available")
+    @SuppressWarnings("unchecked")
+    void shouldUseEstimate() {
+        when(jdbcTemplate.query(anyString(), any(ResultSetExtractor.class))).thenReturn(250_000L);
+
+        approximateCountService.refresh();
+
+        assertEquals(250_000L, approximateCountService.activeCustomers());
+        verify(jdbcTemplate, never()).queryForObject(anyString(), eq(Long.class));
+    }
+
+    @Test
+    @DisplayName("Check if an exact count is used before the first ANALYZE")
+    @SuppressWarnings("unchecked")
+    void shouldFallBackToExactCount() {
+        when(jdbcTemplate.query(anyString(), any(ResultSetExtractor.class))).thenReturn(-1L);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(42L);
+
+        approximateCountService.refresh();
+
+        assertEquals(42L, approximateCountService.activeCustomers());
+    }
+
+    @Test
+    @DisplayName("Check if an exact count is used when the estimate is zero")
+    @SuppressWarnings("unchecked")
+    void shouldFallBackToExactCountOnZeroEstimate() {
+        when(jdbcTemplate.query(anyString(), any(ResultSetExtractor.class))).thenReturn(0L);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(42L);
+
+        approximateCountService.refresh();
+
+        assertEquals(42L, approximateCountService.activeCustomers());
+    }
+
+    @Test
+    @DisplayName("Check if a failed refresh keeps the service usable")
+    @SuppressWarnings("unchecked")
+    void shouldSurviveDatabaseErrors() {
+        when(jdbcTemplate.query(anyString(), any(ResultSetExtractor.class)))
+        	.thenThrow(new DataAccessResourceFailureException("down"));
+
+        approximateCountService.refresh();
+
+        assertNull(approximateCountService.activeCustomers());
+    }
+}
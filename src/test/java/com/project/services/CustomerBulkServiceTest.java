@@ -0,0 +1,217 @@
+package com.project.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.project.config.CacheConfig;
+import com.project.exceptions.InvalidRequestException;
+import com.project.models.dtos.BulkRequest;
+import com.project.models.dtos.BulkResponse;
+import com.project.service.ApproximateCountService;
+import com.project.service.impl.CustomerBulkServiceImpl;
+import com.project.service.impl.CustomerCache;
+import com.project.utils.CustomerFilter;
+
+class CustomerBulkServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
+    @Mock
+    private ApproximateCountService approximateCountService;
+    
+    private Cache cache;
+    
+    private CustomerBulkServiceImpl customerBulkService;
+    
+    private final List<Object[]> updatedChunks = new ArrayList<>();
+    
+    private final List<Runnable> background = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.CUSTOMERS);
+        cache = cacheManager.getCache(CacheConfig.CUSTOMERS);
+        customerBulkService = new CustomerBulkServiceImpl(jdbcTemplate, transactionManager, new CustomerCache(cacheManager),
+        		approximateCountService, background::add);
+
+        // every id sent to the UPDATE is reported back as changed
+        PreparedStatement statement = mock(PreparedStatement.class);
+        Connection connection = mock(Connection.class);
+        when(statement.getConnection()).thenReturn(connection);
+        when(connection.createArrayOf(anyString(), any(Object[].class))).thenAnswer(invocation -> {
+            updatedChunks.add(invocation.getArgument(1));
+            return mock(Array.class);
+        });
+        when(jdbcTemplate.query(startsWith("WITH changed"), any(PreparedStatementSetter.class), any(RowMapper.class)))
+            .thenAnswer(invocation -> {
+                invocation.<PreparedStatementSetter>getArgument(1).setValues(statement);
+                return Arrays.stream(updatedChunks.get(updatedChunks.size() - 1)).map(Long.class::cast).toList();
+            });
+    }
+
+    @Test
+    @DisplayName("Check if the ids are updated in chunks of at most 1000")
+    void shouldUpdateInChunks() {
+        List<Long> ids = LongStream.rangeClosed(1, 2500).boxed().toList();
+
+        BulkResponse response = customerBulkService.softDelete(new BulkRequest(ids, null));
+
+        assertEquals(2500, response.matched());
+        assertEquals(2500, response.affected());
+        assertNull(response.error());
+        assertEquals(3, updatedChunks.size());
+        assertEquals(1000, updatedChunks.get(0).length);
+        assertEquals(500, updatedChunks.get(2).length);
+        background.forEach(Runnable::run);
+        verify(approximateCountService, times(1)).refresh();
+        verify(jdbcTemplate, never()).execute(startsWith("ANALYZE"));
+    }
+
+    @Test
+    @DisplayName("Check if a large delete is analyzed in the background and not before responding")
+    void shouldAnalyzeInBackground() {
+        List<Long> ids = LongStream.rangeClosed(1, 10_000).boxed().toList();
+
+        BulkResponse response = customerBulkService.softDelete(new BulkRequest(ids, null));
+
+        assertEquals(10_000, response.affected());
+        verify(jdbcTemplate, never()).execute(anyString());
+        verify(approximateCountService, never()).refresh();
+
+        background.forEach(Runnable::run);
+        InOrder order = inOrder(jdbcTemplate, approximateCountService);
+        order.verify(jdbcTemplate).execute("ANALYZE tb_customer");
+        order.verify(approximateCountService).refresh();
+    }
+
+    @Test
+    @DisplayName("Check if duplicated and null ids are sent only once")
+    void shouldDeduplicateIds() {
+        BulkResponse response = customerBulkService.toggleActivation(new BulkRequest(Arrays.asList(1L, 2L, 2L, null), null));
+
+        assertEquals(2, response.matched());
+        assertEquals(List.of(1L, 2L), Arrays.asList(updatedChunks.get(0)));
+    }
+
+    @Test
+    @DisplayName("Check if the changed customers are evicted from the cache")
+    void shouldEvictChangedCustomers() {
+        cache.put(1L, "cached");
+        cache.put(99L, "cached");
+
+        customerBulkService.softDelete(new BulkRequest(List.of(1L), null));
+
+        assertNull(cache.get(1L));
+        assertNotNull(cache.get(99L));
+    }
+
+    @Test
+    @DisplayName("Check if a toggle does not refresh the active customers count")
+    void shouldNotRefreshCountOnToggle() {
+        customerBulkService.toggleActivation(new BulkRequest(List.of(1L), null));
+
+        verify(approximateCountService, never()).refresh();
+    }
+
+    @Test
+    @DisplayName("Check if the filter is walked by id until a short chunk is returned")
+    @SuppressWarnings("unchecked")
+    void shouldWalkFilterByKeyset() {
+        List<Long> first = LongStream.rangeClosed(1, 1000).boxed().toList();
+        List<Long> second = LongStream.rangeClosed(1001, 1200).boxed().toList();
+        when(jdbcTemplate.query(startsWith("SELECT id FROM tb_customer"), any(PreparedStatementSetter.class), any(RowMapper.class)))
+            .thenReturn(first, second);
+
+        BulkResponse response = customerBulkService.toggleActivation(
+                new BulkRequest(null, new CustomerFilter(null, "SP", null, null)));
+
+        assertEquals(1200, response.matched());
+        assertEquals(1200, response.affected());
+        assertEquals(2, updatedChunks.size());
+        verify(jdbcTemplate, times(2)).query(startsWith("SELECT id FROM tb_customer"), any(PreparedStatementSetter.class), any(RowMapper.class));
+    }
+
+    @Test
+    @DisplayName("Check if a failing chunk returns the counts of the committed chunks with an error")
+    @SuppressWarnings("unchecked")
+    void shouldReportPartialFailure() {
+        when(jdbcTemplate.query(startsWith("WITH changed"), any(PreparedStatementSetter.class), any(RowMapper.class)))
+            .thenReturn(LongStream.rangeClosed(1, 1000).boxed().toList())
+            .thenThrow(new QueryTimeoutException("canceling statement due to statement timeout"));
+        List<Long> ids = LongStream.rangeClosed(1, 2500).boxed().toList();
+
+        BulkResponse response = customerBulkService.softDelete(new BulkRequest(ids, null));
+
+        assertEquals(1000, response.matched());
+        assertEquals(1000, response.affected());
+        assertNotNull(response.error());
+        background.forEach(Runnable::run);
+        verify(approximateCountService, times(1)).refresh();
+    }
+
+    @Test
+    @DisplayName("Check if a request without ids nor filter is rejected")
+    void shouldRejectEmptyRequest() {
+        InvalidRequestException e = assertThrows(InvalidRequestException.class,
+                () -> customerBulkService.softDelete(new BulkRequest(List.of(), new CustomerFilter())));
+
+        assertEquals("Informe os ids ou ao menos um filtro.", e.getMessage());
+    }
+
+    @Test
+    @DisplayName("Check if a request with both ids and filter is rejected")
+    void shouldRejectIdsAndFilter() {
+        InvalidRequestException e = assertThrows(InvalidRequestException.class,
+                () -> customerBulkService.softDelete(new BulkRequest(List.of(1L), new CustomerFilter("Campinas", null, null, null))));
+
+        assertEquals("Informe os ids ou um filtro, não ambos.", e.getMessage());
+    }
+
+    @Test
+    @DisplayName("Check if a request above the id limit is rejected")
+    void shouldRejectTooManyIds() {
+        List<Long> ids = LongStream.rangeClosed(1, 100_001).boxed().toList();
+
+        assertThrows(InvalidRequestException.class, () -> customerBulkService.softDelete(new BulkRequest(ids, null)));
+        assertEquals(0, updatedChunks.size());
+    }
+}
@@ -0,0 +1,193 @@
+package com.project.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.project.config.CacheConfig;
+import com.project.config.ReplicaLagMonitor;
+import com.project.config.ReplicaRoutingDataSource;
+import com.project.entities.Customer;
+import com.project.models.enums.Datastate;
+import com.project.models.mocks.CustomerMock;
+import com.project.service.impl.CustomerCache;
+
+class CustomerCacheTest {
+
+    private CustomerCache customerCache;
+
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        customerCache = new CustomerCache(new ConcurrentMapCacheManager(CacheConfig.CUSTOMERS));
+        customer = new CustomerMock().single();
+        customer.setVersion(3L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if(TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    @DisplayName("Check if every caller gets its own copy of the cached Customer")
+    void shouldReturnCopies() {
+        customerCache.put(1L, customer, customerCache.generation(1L));
+        customer.setName("Alterado antes do commit");
+
+        Customer first = customerCache.get(1L);
+        first.setDatastate(Datastate.INATIVO);
+        Customer second = customerCache.get(1L);
+
+        assertNotSame(first, second);
+        assertEquals("João Silva", second.getName());
+        assertEquals(Datastate.ATIVO, second.getDatastate());
+        assertEquals(3L, second.getVersion());
+    }
+
+    @Test
+    @DisplayName("Check if an eviction inside a transaction waits for the commit")
+    void shouldEvictAfterCommit() {
+        customerCache.put(1L, customer, customerCache.generation(1L));
+        TransactionSynchronizationManager.initSynchronization();
+
+        customerCache.evict(1L);
+
+        assertNotNull(customerCache.get(1L));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertNull(customerCache.get(1L));
+    }
+
+    @Test
+    @DisplayName("Check if a rolled back transaction keeps the cached Customer")
+    void shouldNotEvictOnRollback() {
+        customerCache.put(1L, customer, customerCache.generation(1L));
+        TransactionSynchronizationManager.initSynchronization();
+
+        customerCache.evict(1L);
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertNotNull(customerCache.get(1L));
+    }
+
+    @Test
+    @DisplayName("Check if a loaded Customer is cached and handed out as copies")
+    void shouldCacheLoadedCustomer() {
+        AtomicInteger loads = new AtomicInteger();
+
+        Customer first = customerCache.get(1L, () -> {
+            loads.incrementAndGet();
+            return customer;
+        });
+        Customer second = customerCache.get(1L, () -> {
+            loads.incrementAndGet();
+            return customer;
+        });
+
+        assertEquals(1, loads.get());
+        assertNotSame(customer, first);
+        assertNotSame(first, second);
+    }
+
+    @Test
+    @DisplayName("Check if a load that overlapped an eviction of the same id is not cached")
+    void shouldNotCacheLoadOverlappingEviction() {
+        Customer result = customerCache.get(1L, () -> {
+            customerCache.evict(1L);
+            return customer;
+        });
+
+        assertEquals(customer, result);
+        assertNull(customerCache.get(1L));
+    }
+
+    @Test
+    @DisplayName("Check if a load inside a write transaction is not cached")
+    void shouldNotCacheLoadInWriteTransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        customerCache.get(1L, () -> customer);
+
+        assertNull(customerCache.get(1L));
+    }
+
+    @Test
+    @DisplayName("Check if a load inside a read-only transaction, possibly on the replica, is not cached")
+    void shouldNotCacheLoadInReadOnlyTransaction() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        customerCache.get(1L, () -> customer);
+
+        assertNull(customerCache.get(1L));
+    }
+
+    @Test
+    @DisplayName("Check if a cache-filling load reads from the primary even when the replica is usable")
+    void shouldLoadFromPrimary() throws Exception {
+        DataSource primary = mock(DataSource.class);
+        DataSource replica = mock(DataSource.class);
+        Connection primaryConnection = mock(Connection.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(mock(Connection.class));
+        ReplicaLagMonitor monitor = mock(ReplicaLagMonitor.class);
+        when(monitor.isReplicaUsable()).thenReturn(true);
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replica, monitor, Duration.ZERO);
+
+        customerCache.get(1L, () -> {
+            // what the repository's own read-only transaction does once it begins
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+            try {
+                assertSame(primaryConnection, routing.getConnection());
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            } finally {
+                TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+            }
+            return customer;
+        });
+
+        assertNotNull(customerCache.get(1L));
+        verify(replica, never()).getConnection();
+    }
+
+    @Test
+    @DisplayName("Check if a put is skipped when the id was evicted after its generation was read")
+    void shouldSkipStalePut() {
+        long generation = customerCache.generation(1L);
+        customerCache.evict(1L);
+
+        customerCache.put(1L, customer, generation);
+
+        assertNull(customerCache.get(1L));
+        customerCache.put(1L, customer, customerCache.generation(1L));
+        assertSame(Datastate.ATIVO, customerCache.get(1L).getDatastate());
+    }
+}
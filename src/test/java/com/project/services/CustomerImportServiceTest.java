@@ -0,0 +1,216 @@
+package com.project.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.id.IdentifierGeneratorHelper;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.id.enhanced.AccessCallback;
+import org.hibernate.id.enhanced.PooledOptimizer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.project.entities.Customer;
+import com.project.service.CustomerUniquenessService;
+import com.project.service.impl.CustomerImportServiceImpl;
+
+import jakarta.validation.Validator;
+
+class CustomerImportServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private CustomerUniquenessService uniquenessService;
+
+    private CustomerImportServiceImpl customerImportService;
+
+    // tb_customer_seq as Hibernate creates it: START 1 INCREMENT BY allocationSize
+    private AtomicLong sequence;
+
+    private final List<Long> importedIds = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        customerImportService = new CustomerImportServiceImpl(jdbcTemplate, transactionManager, validator, uniquenessService);
+        sequence = new AtomicLong(1);
+
+        Connection connection = mock(Connection.class);
+        PGConnection pgConnection = mock(PGConnection.class);
+        CopyManager copyManager = mock(CopyManager.class);
+        Statement statement = mock(Statement.class);
+        when(statement.executeQuery(anyString())).thenAnswer(invocation -> mock(ResultSet.class));
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.prepareStatement(anyString())).thenAnswer(invocation -> nextvalStatement());
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+        // the staged rows are "line,id,name,..."
+        when(copyManager.copyIn(anyString(), any(Reader.class))).thenAnswer(invocation -> {
+            new BufferedReader(invocation.<Reader>getArgument(1)).lines()
+                .forEach(row -> importedIds.add(Long.parseLong(row.split(",")[1])));
+            return 0L;
+        });
+        when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+            .thenAnswer(invocation -> invocation.<ConnectionCallback<?>>getArgument(0).doInConnection(connection));
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    @DisplayName("Check if an import on a fresh sequence and a later save get distinct ids")
+    void shouldShareFreshSequenceWithSave() {
+        customerImportService.importCsv(csv(1));
+        List<Long> savedIds = save(Customer.ID_ALLOCATION_SIZE);
+
+        assertEquals(List.of(1L), importedIds);
+        assertEquals(2L, savedIds.get(0));
+        assertDistinct(savedIds);
+    }
+
+    @Test
+    @DisplayName("Check if an import running next to saves never reuses their ids")
+    void shouldNotCollideWithConcurrentSave() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for(int round = 0; round < 5; round++) {
+                sequence.set(1);
+                importedIds.clear();
+                CountDownLatch start = new CountDownLatch(1);
+                Future<?> importing = executor.submit(() -> {
+                    start.await();
+                    return customerImportService.importCsv(csv(12_000));
+                });
+                Future<List<Long>> saving = executor.submit(() -> {
+                    start.await();
+                    return save(12_000);
+                });
+                start.countDown();
+                importing.get(30, TimeUnit.SECONDS);
+                List<Long> savedIds = saving.get(30, TimeUnit.SECONDS);
+
+                assertEquals(12_000, importedIds.size());
+                assertDistinct(savedIds);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void assertDistinct(List<Long> savedIds) {
+        Set<Long> all = new HashSet<>(importedIds);
+        all.addAll(savedIds);
+        assertEquals(importedIds.size() + savedIds.size(), all.size());
+        assertTrue(all.stream().allMatch(id -> id >= 1));
+    }
+
+    /**
+     * Ids handed out to entity saves by the optimizer Hibernate configures for
+     * Customer.id, over the same sequence.
+     */
+    private List<Long> save(int count) {
+        PooledOptimizer optimizer = new PooledOptimizer(Long.class, Customer.ID_ALLOCATION_SIZE);
+        optimizer.injectInitialValue(1);
+        AccessCallback callback = new AccessCallback() {
+            @Override
+            public IntegralDataTypeHolder getNextValue() {
+                return IdentifierGeneratorHelper.getIntegralDataTypeHolder(Long.class).initialize(nextval());
+            }
+
+            @Override
+            public String getTenantIdentifier() {
+                return null;
+            }
+        };
+        List<Long> ids = new ArrayList<>(count);
+        for(int i = 0; i < count; i++) {
+            ids.add((Long) optimizer.generate(callback));
+        }
+        return ids;
+    }
+
+    private long nextval() {
+        return sequence.getAndAdd(Customer.ID_ALLOCATION_SIZE);
+    }
+
+    // SELECT nextval(...) FROM generate_series(1, ?)
+    private PreparedStatement nextvalStatement() throws SQLException {
+        PreparedStatement statement = mock(PreparedStatement.class);
+        int[] blocks = new int[1];
+        doAnswer(invocation -> blocks[0] = invocation.getArgument(1)).when(statement).setInt(eq(1), anyInt());
+        when(statement.executeQuery()).thenAnswer(invocation -> {
+            List<Long> values = new ArrayList<>();
+            for(int i = 0; i < blocks[0]; i++) {
+                values.add(nextval());
+            }
+            Iterator<Long> rows = values.iterator();
+            long[] current = new long[1];
+            ResultSet resultSet = mock(ResultSet.class);
+            when(resultSet.next()).thenAnswer(next -> {
+                if(!rows.hasNext()) {
+                    return false;
+                }
+                current[0] = rows.next();
+                return true;
+            });
+            when(resultSet.getLong(1)).thenAnswer(get -> current[0]);
+            return resultSet;
+        });
+        return statement;
+    }
+
+    private static ByteArrayInputStream csv(int rows) {
+        StringBuilder csv = new StringBuilder("name,cpf,email,phone,city,state,country\n");
+        for(int i = 0; i < rows; i++) {
+            csv.append("Cliente ").append(i).append(',').append(String.format("%011d", i)).append(",cliente")
+                .append(i).append("@email.com,,São Paulo,SP,Brasil\n");
+        }
+        return new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+}
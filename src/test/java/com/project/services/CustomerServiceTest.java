@@ -3,18 +3,31 @@ package com.project.services;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -22,29 +35,90 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.project.config.CacheConfig;
 import com.project.entities.Customer;
+import com.project.exceptions.InvalidCursorException;
+import com.project.exceptions.InvalidRequestException;
 import com.project.exceptions.ResourceNotFoundException;
+import com.project.models.dtos.BatchItemResult;
+import com.project.models.dtos.CursorPage;
+import com.project.models.dtos.SlicePage;
+import com.project.models.enums.BatchItemStatus;
+import com.project.models.enums.CustomerEventType;
 import com.project.models.enums.Datastate;
 import com.project.models.mocks.CustomerMock;
+import com.project.outbox.OutboxWriter;
 import com.project.repositories.CustomerRepository;
+import com.project.service.ApproximateCountService;
+import com.project.service.CustomerUniquenessService;
+import com.project.service.impl.CustomerCache;
 import com.project.service.impl.CustomerServiceImpl;
+import com.project.utils.CursorCodec;
+import com.project.utils.CustomerFields;
+import com.project.utils.CustomerFilter;
 import com.project.utils.PaginationRequest;
 
-import jakarta.persistence.EntityNotFoundException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Path;
+import jakarta.validation.Validator;
 
 class CustomerServiceImplTest {
 
     @Mock
     private CustomerRepository customerRepository;
     
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.CUSTOMERS);
+    
+    @Spy
+    private CustomerCache customerCache = new CustomerCache(cacheManager);
+    
+    @Mock
+    private Validator validator;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
+    @Mock
+    private EntityManager entityManager;
+    
+    @Mock
+    private ApproximateCountService approximateCountService;
+    
+    @Mock
+    private OutboxWriter outboxWriter;
+    
+    @Mock
+    private CustomerUniquenessService uniquenessService;
+    
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    
     @InjectMocks
     private CustomerServiceImpl customerService;
     
@@ -71,31 +145,164 @@ class CustomerServiceImplTest {
         PaginationRequest paginationRequest = new PaginationRequest(0,customerList.size(), "name", "asc");
     	Page<Customer> customerPage = new PageImpl<>(customerList, PageRequest.of(0, customerList.size()), customerList.size());
 
-        when(customerRepository.findAll(any(PageRequest.class))).thenReturn(customerPage);
-        Page<Customer> result = customerService.findAll(paginationRequest);
+        when(customerRepository.findByDatastate(eq(Datastate.ATIVO), any(Pageable.class))).thenReturn(customerPage);
+        Page<Customer> result = customerService.findAll(paginationRequest, new CustomerFilter());
 
         assertEquals(customerList.size(), result.getContent().size());
         assertEquals(customerList.get(0), result.getContent().get(0));
         assertEquals(customerList.get(1), result.getContent().get(1));
-        verify(customerRepository, times(1)).findAll(any(PageRequest.class));
+        verify(customerRepository, times(1)).findByDatastate(eq(Datastate.ATIVO), any(Pageable.class));
     }
     
     @Test
-    @DisplayName("Check if all returned Customers are active")
-    void shouldReturnListWithOnlyActiveCustomers() {
-    	Customer inactiveCustomer = new Customer();
-        inactiveCustomer.setDatastate(Datastate.INATIVO);
-        customerList.add(inactiveCustomer);
-        PaginationRequest paginationRequest = new PaginationRequest(0, customerList.size(), "name", "asc");
-    	Page<Customer> customerPage = new PageImpl<>(customerList, PageRequest.of(0, customerList.size()), customerList.size());
+    @DisplayName("Check if the ATIVO filter is pushed down to the repository query")
+    void shouldFilterActiveCustomersInRepository() {
+        PaginationRequest paginationRequest = new PaginationRequest(1, 2, "name", "desc");
+    	Page<Customer> customerPage = new PageImpl<>(customerList, PageRequest.of(1, 2), 7);
         
-        when(customerRepository.findAll(any(PageRequest.class))).thenReturn(customerPage);
-        Page<Customer> result = customerService.findAll(paginationRequest);
+        when(customerRepository.findByDatastate(eq(Datastate.ATIVO), any(Pageable.class))).thenReturn(customerPage);
+        Page<Customer> result = customerService.findAll(paginationRequest, new CustomerFilter());
+
+        assertEquals(7, result.getTotalElements());
+        assertEquals(customerList.size(), result.getNumberOfElements());
+        verify(customerRepository, times(1)).findByDatastate(Datastate.ATIVO, PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "name")));
+        verify(customerRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Check if filter criteria are translated into a Specification query")
+    @SuppressWarnings("unchecked")
+    void shouldFilterCustomersWithSpecification() {
+        PaginationRequest paginationRequest = new PaginationRequest(0, 10, "name", "asc");
+        CustomerFilter filter = new CustomerFilter(null, "SP", "Brasil", true);
+    	Page<Customer> customerPage = new PageImpl<>(customerList.subList(0, 1), PageRequest.of(0, 10), 1);
+        when(customerRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(customerPage);
+
+        Page<Customer> result = customerService.findAll(paginationRequest, filter);
+
+        assertEquals(1, result.getTotalElements());
+        verify(customerRepository, times(1)).findAll(any(Specification.class), eq(PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "name"))));
+        verify(customerRepository, never()).findByDatastate(any(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Check if a Slice is returned with the cached approximate total")
+    @SuppressWarnings("unchecked")
+    void shouldReturnSliceWithApproximateTotal() {
+        PaginationRequest paginationRequest = new PaginationRequest(0, 2, "name", "asc");
+        when(customerRepository.findSlice(any(Specification.class), any(Pageable.class)))
+        	.thenReturn(new SliceImpl<>(customerList, PageRequest.of(0, 2), true));
+        when(approximateCountService.activeCustomers()).thenReturn(1500L);
+
+        SlicePage<Customer> result = customerService.findSlice(paginationRequest, new CustomerFilter(), true);
+
+        assertEquals(customerList, result.content());
+        assertTrue(result.hasNext());
+        assertEquals(1500L, result.approximateTotal());
+        verify(customerRepository, never()).findByDatastate(any(), any(Pageable.class));
+    }
+    
+    @Test
+    @DisplayName("Check if no approximate total is given for filtered Slices")
+    @SuppressWarnings("unchecked")
+    void shouldNotReturnApproximateTotalForFilteredSlice() {
+        PaginationRequest paginationRequest = new PaginationRequest(0, 2, "name", "asc");
+        when(customerRepository.findSlice(any(Specification.class), any(Pageable.class)))
+        	.thenReturn(new SliceImpl<>(customerList, PageRequest.of(0, 2), false));
+
+        SlicePage<Customer> result = customerService.findSlice(paginationRequest, new CustomerFilter("São Paulo", null, null, null), true);
+
+        assertFalse(result.hasNext());
+        assertNull(result.approximateTotal());
+        verify(approximateCountService, never()).activeCustomers();
+    }
+
+    @Test
+    @DisplayName("Check if the first cursor page returns a next token")
+    void shouldReturnFirstCursorPage() {
+        PaginationRequest paginationRequest = new PaginationRequest(0, customerList.size(), "name", "asc");
+        Window<Customer> window = Window.from(customerList, index -> ScrollPosition.forward(
+        		Map.of("name", customerList.get(index).getName(), "id", customerList.get(index).getId())), true);
+
+        when(customerRepository.scrollByDatastate(eq(Datastate.ATIVO), eq(ScrollPosition.keyset()), eq(Limit.of(2)), any(Sort.Order.class)))
+        	.thenReturn(window);
+        CursorPage<Customer> result = customerService.findAllByCursor(paginationRequest);
+
+        assertEquals(customerList, result.content());
+        assertTrue(result.hasNext());
+        assertEquals(Map.of("name", "Maria Pinheiro", "id", 2L), CursorCodec.decode(result.next()));
+    }
+
+    @Test
+    @DisplayName("Check if the after token is decoded into a keyset position")
+    void shouldContinueFromCursor() {
+        PaginationRequest paginationRequest = new PaginationRequest(0, 2, "name", "asc");
+        paginationRequest.setAfter(CursorCodec.encode(Map.of("name", "Maria Pinheiro", "id", 2L)));
+        Window<Customer> window = Window.from(List.of(), index -> ScrollPosition.keyset(), false);
+
+        when(customerRepository.scrollByDatastate(eq(Datastate.ATIVO), any(KeysetScrollPosition.class), any(Limit.class), any(Sort.Order.class)))
+        	.thenReturn(window);
+        CursorPage<Customer> result = customerService.findAllByCursor(paginationRequest);
+
+        assertFalse(result.hasNext());
+        assertNull(result.next());
+        verify(customerRepository, times(1)).scrollByDatastate(Datastate.ATIVO,
+        		ScrollPosition.forward(Map.of("name", "Maria Pinheiro", "id", 2L)), Limit.of(2), Sort.Order.asc("name"));
+    }
+
+    @Test
+    @DisplayName("Check if a cursor without the key of the sort field is refused")
+    void shouldRefuseCursorOfAnotherSort() {
+        PaginationRequest paginationRequest = new PaginationRequest(0, 2, "city", "asc");
+        paginationRequest.setAfter(CursorCodec.encode(Map.of("name", "Maria Pinheiro", "id", 2L)));
 
-        assertTrue(result.getContent().stream().allMatch(customer -> customer.getDatastate() == Datastate.ATIVO));
-        assertEquals(customerList.size(), result.getSize());
-        assertFalse(result.getContent().contains(inactiveCustomer));
-        verify(customerRepository, times(1)).findAll(any(PageRequest.class));
+        assertThrows(InvalidCursorException.class, () -> customerService.findAllByCursor(paginationRequest));
+        verify(customerRepository, never()).scrollByDatastate(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Check if an unknown sort field or direction is refused for cursor pages")
+    void shouldRefuseUnknownCursorSort() {
+        assertThrows(InvalidRequestException.class,
+        		() -> customerService.findAllByCursor(new PaginationRequest(0, 2, "password", "asc")));
+        assertThrows(InvalidRequestException.class,
+        		() -> customerService.findAllByCursor(new PaginationRequest(0, 2, "name", "up")));
+        verify(customerRepository, never()).scrollByDatastate(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Check if search passes the term and an escaped ILIKE pattern to the repository")
+    void shouldSearchCustomers() {
+        PaginationRequest paginationRequest = new PaginationRequest(0, 20, "name", "asc");
+    	Page<Customer> customerPage = new PageImpl<>(customerList, PageRequest.of(0, 20), customerList.size());
+        when(customerRepository.search(eq("50%_silva"), eq("%50\\%\\_silva%"), any(Pageable.class))).thenReturn(customerPage);
+
+        Page<Customer> result = customerService.search(" 50%_silva ", paginationRequest);
+
+        assertEquals(customerList, result.getContent());
+        verify(customerRepository, times(1)).search("50%_silva", "%50\\%\\_silva%", PageRequest.of(0, 20));
+    }
+    
+    @Test
+    @DisplayName("Check if searches shorter than three characters are refused")
+    void shouldRefuseShortSearch() {
+        PaginationRequest paginationRequest = new PaginationRequest();
+
+        assertThrows(InvalidRequestException.class, () -> customerService.search("jo ", paginationRequest));
+        verify(customerRepository, never()).search(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Check if exported Customers are streamed and detached one by one")
+    void shouldExportCustomersAsStream() {
+        when(customerRepository.streamByDatastate(Datastate.ATIVO)).thenReturn(customerList.stream());
+        List<Customer> exported = new ArrayList<>();
+
+        customerService.exportAll(exported::add);
+
+        assertEquals(customerList, exported);
+        verify(entityManager, times(1)).detach(customerList.get(0));
+        verify(entityManager, times(1)).detach(customerList.get(1));
     }
 
     @Test
@@ -109,6 +316,110 @@ class CustomerServiceImplTest {
         verify(customerRepository, times(1)).findById(1L);
     }
     
+    @Test
+    @DisplayName("Check if only the requested fields of a Customer are read")
+    void shouldReturnRequestedFieldsOfCustomer() {
+        Map<String, Object> row = Map.of("id", 1L, "name", "João Silva");
+        when(customerRepository.findFields(any(), eq(List.of("id", "name")), any(Pageable.class)))
+        	.thenReturn(new PageImpl<>(List.of(row)));
+
+        Map<String, Object> result = customerService.findById(1L, CustomerFields.parse("id,name"));
+
+        assertEquals(row, result);
+        verify(customerRepository, never()).findById(any());
+    }
+    
+    @Test
+    @DisplayName("Check if the requested fields of a cached Customer are projected without a query")
+    void shouldProjectCachedCustomer() {
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+        customerService.findById(1L);
+
+        Map<String, Object> result = customerService.findById(1L, CustomerFields.parse("name"));
+
+        assertEquals(Map.of("name", "João Silva"), result);
+        verify(customerRepository, never()).findFields(any(), any(), any());
+    }
+    
+    @Test
+    @DisplayName("Check if requesting fields of a missing Customer throws ResourceNotFoundException")
+    void shouldThrowWhenFieldsOfMissingCustomerAreRequested() {
+        when(customerRepository.findFields(any(), any(), any(Pageable.class))).thenReturn(Page.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> customerService.findById(99L, CustomerFields.parse("id")));
+    }
+    
+    @Test
+    @DisplayName("Check if repeated lookups of a Customer are served from the cache")
+    void shouldReturnCachedCustomer() {
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+
+        customerService.findById(1L);
+        Customer result = customerService.findById(1L);
+
+        assertEquals(customer, result);
+        verify(customerRepository, times(1)).findById(1L);
+    }
+    
+    @Test
+    @DisplayName("Check if concurrent lookups of the same Customer share one database call")
+    void shouldCoalesceConcurrentLookups() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(customerRepository.findById(1L)).thenAnswer(invocation -> {
+        	release.await(5, TimeUnit.SECONDS);
+        	return Optional.of(customer);
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+        	List<Future<Customer>> results = new ArrayList<>();
+        	for(int i = 0; i < 8; i++) {
+        		results.add(executor.submit(() -> customerService.findById(1L)));
+        	}
+        	FunctionCounter coalesced = meterRegistry.get("customer.lookup").tag("result", "coalesced").functionCounter();
+        	long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        	while(coalesced.count() < 7 && System.nanoTime() < deadline) {
+        		Thread.sleep(1);
+        	}
+        	release.countDown();
+        	for(Future<Customer> result : results) {
+        		assertEquals(customer, result.get(5, TimeUnit.SECONDS));
+        	}
+        	assertEquals(7.0, coalesced.count());
+        } finally {
+        	executor.shutdownNow();
+        }
+        verify(customerRepository, times(1)).findById(1L);
+    }
+    
+    @Test
+    @DisplayName("Check if write operations evict the cached Customer")
+    void shouldEvictCachedCustomerOnWrite() {
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+
+        customerService.toggleActivateAccount(1L);
+        customerService.findById(1L);
+        customerService.delete(1L);
+
+        assertNull(cacheManager.getCache(CacheConfig.CUSTOMERS).get(1L));
+        assertThrows(ResourceNotFoundException.class, () -> customerService.findById(1L));
+        verify(customerRepository, times(4)).findById(1L);
+    }
+    
+    @Test
+    @DisplayName("Check if a failed delete leaves the cached Customer untouched")
+    void shouldNotChangeCachedCustomerWhenDeleteFails() {
+        Customer stored = customerMock.single();
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer), Optional.of(stored));
+        when(customerRepository.save(any(Customer.class))).thenThrow(new DataIntegrityViolationException("conflict"));
+
+        customerService.findById(1L);
+        assertThrows(DataIntegrityViolationException.class, () -> customerService.delete(1L));
+        Customer result = customerService.findById(1L);
+
+        assertEquals(Datastate.ATIVO, result.getDatastate());
+        verify(customerRepository, times(2)).findById(1L);
+    }
+    
     @Test
     @DisplayName("Check if throw Exception when Customer is found but datastate is inactive")
     void shouldThrowExceptionWhenCustomerIsInactive() {
@@ -142,6 +453,7 @@ class CustomerServiceImplTest {
         assertTrue(result.getActive());
         assertEquals(Datastate.ATIVO, result.getDatastate());
         verify(customerRepository, times(1)).save(any(Customer.class));
+        verify(outboxWriter, times(1)).record(CustomerEventType.CREATED, customer);
     }
     
     @Test
@@ -158,6 +470,43 @@ class CustomerServiceImplTest {
         verify(customerRepository, times(1)).save(any(Customer.class));
     }
     
+    @Test
+    @DisplayName("Check if a duplicate flagged by the pre-check is refused without an insert")
+    void shouldRefuseDuplicateBeforeInsert() {
+        when(uniquenessService.isDuplicate(customer.getCpf(), customer.getEmail())).thenReturn(true);
+
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class,
+        		() -> customerService.save(customer));
+
+        assertEquals("Registro já existe no banco de dados.", exception.getMessage());
+        verify(customerRepository, never()).save(any(Customer.class));
+        verify(outboxWriter, never()).record(any(), any());
+    }
+    
+    @Test
+    @DisplayName("Check if a saved Customer is registered in the uniqueness pre-check")
+    void shouldRegisterSavedCustomer() {
+        when(customerRepository.save(any(Customer.class))).thenReturn(customer);
+
+        customerService.save(customer);
+
+        verify(customerRepository, times(1)).flush();
+        verify(uniquenessService, times(1)).register(customer.getCpf(), customer.getEmail());
+    }
+    
+    @Test
+    @DisplayName("Check if a constraint violation raised on flush is reported as a duplicate")
+    void shouldTranslateDuplicateRaisedOnFlush() {
+        when(customerRepository.save(any(Customer.class))).thenReturn(customer);
+        doThrow(new DataIntegrityViolationException("duplicate key value violates unique constraint")).when(customerRepository).flush();
+
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class,
+        		() -> customerService.save(customer));
+
+        assertEquals("Registro já existe no banco de dados.", exception.getMessage());
+        verify(uniquenessService, never()).register(any(), any());
+    }
+    
     @Test
     @DisplayName("Check if ConstraintViolationException is correctly thrown")
     void shouldTestThrowsConstraintViolationException() {
@@ -189,44 +538,151 @@ class CustomerServiceImplTest {
     }
 
     @Test
-    @DisplayName("Check if the selected Customer is updated")
-    void shouldUpdateCustomer() {
-        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
-        when(customerRepository.save(any(Customer.class))).thenAnswer(invocation -> {
-        	Customer savedCustomer = invocation.getArgument(0);
-            return savedCustomer;
+    @DisplayName("Check if a batch of valid Customers is created in a single chunk")
+    void shouldCreateBatchOfCustomers() {
+        when(customerRepository.saveAll(any())).thenAnswer(invocation -> {
+        	List<Customer> saved = invocation.getArgument(0);
+        	for(int i = 0; i < saved.size(); i++) {
+        		saved.get(i).setId(100L + i);
+        	}
+        	return saved;
         });
 
+        List<BatchItemResult> results = customerService.saveAll(customerList);
+
+        assertEquals(2, results.size());
+        assertTrue(results.stream().allMatch(result -> result.status() == BatchItemStatus.CREATED));
+        assertEquals(101L, results.get(1).id());
+        assertEquals(Datastate.ATIVO, customerList.get(0).getDatastate());
+        verify(customerRepository, times(1)).saveAll(any());
+        verify(customerRepository, times(1)).flush();
+        verify(outboxWriter, times(2)).record(eq(CustomerEventType.CREATED), any(Customer.class));
+    }
+    
+    @Test
+    @DisplayName("Check if invalid Customers in a batch are rejected before reaching the database")
+    void shouldRejectInvalidCustomersInBatch() {
+    	@SuppressWarnings("unchecked")
+    	ConstraintViolation<Customer> violation = mock(ConstraintViolation.class);
+    	Path path = mock(Path.class);
+    	when(path.toString()).thenReturn("cpf");
+    	when(violation.getPropertyPath()).thenReturn(path);
+    	when(violation.getMessage()).thenReturn("número do registro de contribuinte individual brasileiro (CPF) inválido");
+        when(validator.validate(same(customerList.get(0)))).thenReturn(Set.of(violation));
+
+        List<BatchItemResult> results = customerService.saveAll(customerList);
+
+        assertEquals(BatchItemStatus.REJECTED, results.get(0).status());
+        assertTrue(results.get(0).message().startsWith("cpf: "));
+        assertEquals(BatchItemStatus.CREATED, results.get(1).status());
+        verify(customerRepository, times(1)).saveAll(List.of(customerList.get(1)));
+    }
+    
+    @Test
+    @DisplayName("Check if known duplicates in a batch are rejected before reaching the database")
+    void shouldRejectKnownDuplicatesInBatch() {
+        Customer duplicate = customerList.get(0);
+        when(uniquenessService.isDuplicate(duplicate.getCpf(), duplicate.getEmail())).thenReturn(true);
+
+        List<BatchItemResult> results = customerService.saveAll(customerList);
+
+        assertEquals(BatchItemStatus.REJECTED, results.get(0).status());
+        assertEquals("Registro já existe no banco de dados.", results.get(0).message());
+        assertEquals(BatchItemStatus.CREATED, results.get(1).status());
+        verify(customerRepository, times(1)).saveAll(List.of(customerList.get(1)));
+    }
+    
+    @Test
+    @DisplayName("Check if a chunk rejected by the database is retried item by item")
+    void shouldRetryChunkItemByItemOnDuplicate() {
+        when(customerRepository.saveAll(any())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(customerRepository.saveAndFlush(same(customerList.get(0)))).thenReturn(customerList.get(0));
+        when(customerRepository.saveAndFlush(same(customerList.get(1)))).thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        List<BatchItemResult> results = customerService.saveAll(customerList);
+
+        assertEquals(BatchItemStatus.CREATED, results.get(0).status());
+        assertEquals(BatchItemStatus.REJECTED, results.get(1).status());
+        assertEquals("Registro já existe no banco de dados.", results.get(1).message());
+        verify(customerRepository, times(2)).saveAndFlush(any(Customer.class));
+        verify(outboxWriter, times(1)).record(eq(CustomerEventType.CREATED), same(customerList.get(0)));
+    }
+    
+    @Test
+    @DisplayName("Check if batches above the limit are refused")
+    void shouldRefuseOversizedBatch() {
+        List<Customer> customers = Collections.nCopies(5001, customer);
+
+        assertThrows(InvalidRequestException.class, () -> customerService.saveAll(customers));
+        verify(customerRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Check if the selected Customer is updated in a single repository call")
+    void shouldUpdateCustomer() {
         Customer updatedCustomer = new Customer();
         updatedCustomer.setName("Novo Nome");
+        customer.setName("Novo Nome");
+        when(customerRepository.updateActive(1L, updatedCustomer)).thenReturn(Optional.of(customer));
+
         Customer result = customerService.update(1L, updatedCustomer);
 
         assertEquals("Novo Nome", result.getName());
-        verify(customerRepository, times(1)).findById(1L);
-        verify(customerRepository, times(1)).save(any(Customer.class));
+        assertEquals(Datastate.ATIVO, result.getDatastate());
+        assertNotNull(result.getRegistrationDate());
+        verify(customerRepository, times(1)).updateActive(1L, updatedCustomer);
+        verify(customerRepository, never()).findById(any());
+        verify(customerRepository, never()).save(any(Customer.class));
+        verify(outboxWriter, times(1)).record(CustomerEventType.UPDATED, customer);
+    }
+    
+    @Test
+    @DisplayName("Check if updating evicts the cached Customer")
+    void shouldEvictCachedCustomerOnUpdate() {
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+        when(customerRepository.updateActive(eq(1L), any(Customer.class))).thenReturn(Optional.of(customer));
+
+        customerService.findById(1L);
+        customerService.update(1L, new Customer());
+
+        assertNull(cacheManager.getCache(CacheConfig.CUSTOMERS).get(1L));
     }
     
     @Test
     @DisplayName("Check if trying to update a non-existing Customer throws Exception")
     void shouldNotUpdateNonExistingCustomer() {
-        when(customerRepository.findById(1L)).thenThrow(new EntityNotFoundException());
+        when(customerRepository.updateActive(eq(1L), any(Customer.class))).thenReturn(Optional.empty());
 
         assertThrows(ResourceNotFoundException.class, () -> customerService.update(1L, customer));
 
-        verify(customerRepository, times(1)).findById(1L);
+        verify(customerRepository, times(1)).updateActive(1L, customer);
         verify(customerRepository, never()).save(any(Customer.class));
     }
     
+    @Test
+    @DisplayName("Check if an update with invalid values is rejected before reaching the database")
+    void shouldNotUpdateWithInvalidValues() {
+    	@SuppressWarnings("unchecked")
+    	ConstraintViolation<Customer> violation = mock(ConstraintViolation.class);
+        when(validator.validate(customer)).thenReturn(Set.of(violation));
+
+        assertThrows(ConstraintViolationException.class, () -> customerService.update(1L, customer));
+
+        verify(customerRepository, never()).updateActive(any(), any());
+    }
+    
     @Test
     @DisplayName("Check if the selected Customer is logic deleted")
     void shouldDeleteCustomerSuccessfully() {
         when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+        when(customerRepository.save(customer)).thenReturn(customer);
 
         String message = customerService.delete(1L);
 
         assertEquals("Registro removido com sucesso.", message);
         assertEquals(Datastate.INATIVO, customer.getDatastate());
         verify(customerRepository, times(1)).save(any(Customer.class));
+        verify(outboxWriter, times(1)).record(CustomerEventType.DELETED, customer);
     }
 
     @Test
@@ -237,18 +693,21 @@ class CustomerServiceImplTest {
         assertThrows(ResourceNotFoundException.class, () -> customerService.delete(1L));
         verify(customerRepository, never()).save(any(Customer.class));
         verify(customerRepository, times(1)).findById(1L);
+        verify(outboxWriter, never()).record(any(), any());
     }
     
     @Test
     @DisplayName("Check if the selected Customer is set not active")
     void shouldDeactivateCustomer() {
         when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+        when(customerRepository.save(customer)).thenReturn(customer);
 
         String message = customerService.toggleActivateAccount(1L);
 
         assertEquals("Cadastro inativado com sucesso.", message);
         assertFalse(customer.getActive());
         verify(customerRepository, times(1)).save(any(Customer.class));
+        verify(outboxWriter, times(1)).record(CustomerEventType.DEACTIVATED, customer);
     }
 
     @Test
@@ -256,12 +715,14 @@ class CustomerServiceImplTest {
     void shouldActivateCustomer() {
     	customer.setActive(false);
         when(customerRepository.findById(1L)).thenReturn(Optional.of(customer));
+        when(customerRepository.save(customer)).thenReturn(customer);
 
         String message = customerService.toggleActivateAccount(1L);
 
         assertEquals("Cadastro ativado com sucesso.", message);
         assertTrue(customer.getActive());
         verify(customerRepository, times(1)).save(any(Customer.class));
+        verify(outboxWriter, times(1)).record(CustomerEventType.ACTIVATED, customer);
     }
 }
 
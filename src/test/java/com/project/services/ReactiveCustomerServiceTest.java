@@ -0,0 +1,94 @@
+package com.project.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import com.project.config.CacheConfig;
+import com.project.entities.Customer;
+import com.project.models.mocks.CustomerMock;
+import com.project.outbox.OutboxWriter;
+import com.project.service.CustomerUniquenessService;
+import com.project.service.impl.CustomerCache;
+import com.project.service.impl.ReactiveCustomerServiceImpl;
+
+import jakarta.validation.Validator;
+
+class ReactiveCustomerServiceTest {
+
+    @Mock
+    private DatabaseClient databaseClient;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private OutboxWriter outboxWriter;
+
+    @Mock
+    private CustomerUniquenessService uniquenessService;
+
+    private CustomerCache customerCache;
+
+    private ReactiveCustomerServiceImpl reactiveCustomerService;
+
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        customerCache = new CustomerCache(new ConcurrentMapCacheManager(CacheConfig.CUSTOMERS));
+        reactiveCustomerService = new ReactiveCustomerServiceImpl(databaseClient, transactionalOperator, customerCache,
+                validator, outboxWriter, uniquenessService);
+        customer = new CustomerMock().single();
+        customer.setId(1L);
+        when(validator.validate(any(Customer.class))).thenReturn(Set.of());
+    }
+
+    @Test
+    @DisplayName("Check if an update without fields returns the customer without recording an event or evicting it")
+    void shouldNotWriteEmptyUpdate() {
+        customerCache.put(1L, customer, customerCache.generation(1L));
+
+        Customer result = reactiveCustomerService.update(1L, new Customer()).block();
+
+        assertEquals(customer.getCpf(), result.getCpf());
+        assertNotNull(customerCache.get(1L));
+        verifyNoInteractions(databaseClient, transactionalOperator, outboxWriter);
+    }
+
+    @Test
+    @DisplayName("Check if an update to a cpf or email of another customer is rejected before the UPDATE")
+    void shouldRejectDuplicateUpdate() {
+        Customer changes = new Customer();
+        changes.setEmail("outro@email.com");
+        when(uniquenessService.isDuplicate(1L, null, "outro@email.com")).thenReturn(true);
+
+        DataIntegrityViolationException e = assertThrows(DataIntegrityViolationException.class,
+                () -> reactiveCustomerService.update(1L, changes).block());
+
+        assertEquals("Registro já existe no banco de dados.", e.getMessage());
+        verifyNoInteractions(databaseClient, transactionalOperator);
+        verify(uniquenessService, never()).register(any(), any());
+    }
+}
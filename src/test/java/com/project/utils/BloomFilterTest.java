@@ -0,0 +1,86 @@
+package com.project.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("Check if every added value is reported as possibly present")
+    void testNoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i + "@email.com");
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("user" + i + "@email.com"));
+        }
+        assertFalse(filter.isSaturated());
+    }
+
+    @Test
+    @DisplayName("Check if the false positive rate stays close to the configured one")
+    void testFalsePositiveRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("c:" + (10_000_000_000L + i));
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("c:" + (20_000_000_000L + i))) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+
+    @Test
+    @DisplayName("Check if adding more values than expected marks the filter as saturated")
+    void testSaturation() {
+        BloomFilter filter = new BloomFilter(2, 0.01);
+        filter.put("a");
+        filter.put("b");
+        filter.put("c");
+
+        assertTrue(filter.isSaturated());
+        assertEquals(3, filter.insertions());
+    }
+
+    @Test
+    @DisplayName("Check if values that set no new bit are not counted toward saturation")
+    void testRepeatedValuesDoNotSaturate() {
+        BloomFilter filter = new BloomFilter(2, 0.01);
+
+        assertTrue(filter.put("a"));
+        assertFalse(filter.put("a"));
+        assertFalse(filter.put("a"));
+        assertTrue(filter.put("b"));
+
+        assertFalse(filter.isSaturated());
+        assertEquals(2, filter.insertions());
+    }
+
+    @Test
+    @DisplayName("Check if bit indices cover filters larger than 2^32 bits")
+    void testIndicesAbove32Bits() {
+        long bitCount = 1L << 40;
+        long highest = 0;
+        for (int i = 1; i <= 1000; i++) {
+            long index = BloomFilter.index(0x7a3f9c21b4d5e6f7L, 0x1c2b3a4958677685L * i, i, bitCount);
+            assertTrue(index >= 0 && index < bitCount);
+            highest = Math.max(highest, index);
+        }
+        assertTrue(highest > 1L << 32, "highest index: " + highest);
+    }
+
+    @Test
+    @DisplayName("Check if invalid sizing is refused")
+    void testInvalidSizing() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(10, 1.0));
+    }
+}
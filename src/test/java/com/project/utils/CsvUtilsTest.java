@@ -0,0 +1,36 @@
+package com.project.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CsvUtilsTest {
+
+    @Test
+    @DisplayName("Check if plain and quoted fields are parsed")
+    void testParseLine() {
+        assertEquals(List.of("João Silva", "27802535093", ""), CsvUtils.parseLine("João Silva,27802535093,"));
+        assertEquals(List.of("Silva, João", "diz \"oi\""), CsvUtils.parseLine("\"Silva, João\",\"diz \"\"oi\"\"\""));
+    }
+
+    @Test
+    @DisplayName("Check if an unterminated quote is rejected")
+    void testUnterminatedQuote() {
+        assertThrows(IllegalArgumentException.class, () -> CsvUtils.parseLine("\"João,Silva"));
+    }
+
+    @Test
+    @DisplayName("Check if fields are quoted for COPY and nulls are left empty")
+    void testAppendField() {
+        StringBuilder out = new StringBuilder();
+        CsvUtils.appendField(out, "diz \"oi\"");
+        out.append(',');
+        CsvUtils.appendField(out, null);
+        out.append(',');
+        CsvUtils.appendField(out, "");
+        assertEquals("\"diz \"\"oi\"\"\",,\"\"", out.toString());
+    }
+}
@@ -0,0 +1,85 @@
+package com.project.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.project.exceptions.InvalidCursorException;
+import com.project.models.enums.Datastate;
+
+class CursorCodecTest {
+
+    @Test
+    @DisplayName("Check if an encoded cursor is decoded back with its original types")
+    void testRoundTrip() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("registrationDate", LocalDate.of(2024, 5, 10));
+        keys.put("id", 42L);
+
+        Map<String, Object> decoded = CursorCodec.decode(CursorCodec.encode(keys));
+
+        assertEquals(keys, decoded);
+    }
+
+    @Test
+    @DisplayName("Check if values with separators and null values survive encoding")
+    void testSpecialValues() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("name", "João & Maria = sócios");
+        keys.put("city", null);
+        keys.put("id", 7L);
+
+        Map<String, Object> decoded = CursorCodec.decode(CursorCodec.encode(keys));
+
+        assertEquals("João & Maria = sócios", decoded.get("name"));
+        assertTrue(decoded.containsKey("city"));
+        assertNull(decoded.get("city"));
+        assertEquals(7L, decoded.get("id"));
+    }
+
+    @Test
+    @DisplayName("Check if a tampered cursor is rejected")
+    void testInvalidCursor() {
+        assertThrows(InvalidCursorException.class, () -> CursorCodec.decode("not-a-cursor"));
+        assertThrows(InvalidCursorException.class, () -> CursorCodec.decode(CursorCodec.encode(Map.of("name", "x"))));
+        assertThrows(InvalidCursorException.class, () -> CursorCodec.decode(CursorCodec.encode(Map.of("password", "x", "id", 1L))));
+    }
+
+    @Test
+    @DisplayName("Check if a cursor sorted by datastate, version or lastModified is decoded with its types")
+    void testEntityStateKeys() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("datastate", Datastate.ATIVO);
+        keys.put("version", 3L);
+        keys.put("lastModified", Instant.parse("2024-05-10T12:30:00Z"));
+        keys.put("id", 42L);
+
+        assertEquals(keys, CursorCodec.decode(CursorCodec.encode(keys)));
+    }
+
+    @Test
+    @DisplayName("Check if null and empty values are encoded explicitly and told apart")
+    void testExplicitNull() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("phone", null);
+        keys.put("city", "");
+        keys.put("name", "~");
+        keys.put("id", 1L);
+
+        String raw = new String(Base64.getUrlDecoder().decode(CursorCodec.encode(keys)), StandardCharsets.UTF_8);
+        Map<String, Object> decoded = CursorCodec.decode(CursorCodec.encode(keys));
+
+        assertEquals("phone=~&city=&name=%7E&id=1", raw);
+        assertEquals(keys, decoded);
+        assertThrows(InvalidCursorException.class,
+                () -> CursorCodec.decode(Base64.getUrlEncoder().encodeToString("phone&id=1".getBytes(StandardCharsets.UTF_8))));
+    }
+}
@@ -0,0 +1,42 @@
+package com.project.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.project.exceptions.InvalidRequestException;
+import com.project.models.mocks.CustomerMock;
+
+class CustomerFieldsTest {
+
+    @Test
+    @DisplayName("Check if requested fields are kept in order without blanks or repeats")
+    void testParse() {
+        CustomerFields fields = CustomerFields.parse(" id, name,,city,name ");
+
+        assertEquals(List.of("id", "name", "city"), fields.names());
+    }
+
+    @Test
+    @DisplayName("Check if unknown or missing fields are rejected")
+    void testInvalidFields() {
+        InvalidRequestException unknown = assertThrows(InvalidRequestException.class, () -> CustomerFields.parse("id,password"));
+        assertEquals("Campo inválido: password", unknown.getMessage());
+        assertThrows(InvalidRequestException.class, () -> CustomerFields.parse(" , "));
+    }
+
+    @Test
+    @DisplayName("Check if a loaded Customer is projected to the requested fields only")
+    void testProject() {
+        Map<String, Object> values = CustomerFields.parse("city,id").project(new CustomerMock().single());
+
+        assertEquals(List.of("city", "id"), List.copyOf(values.keySet()));
+        assertEquals("São Paulo", values.get("city"));
+        assertEquals(1L, values.get("id"));
+    }
+
+}
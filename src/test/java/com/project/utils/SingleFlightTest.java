@@ -0,0 +1,69 @@
+package com.project.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+    @Test
+    @DisplayName("Check if sequential calls each run the loader")
+    void testSequentialCalls() {
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>();
+        AtomicInteger calls = new AtomicInteger();
+
+        singleFlight.execute(1L, () -> "v" + calls.incrementAndGet());
+        String second = singleFlight.execute(1L, () -> "v" + calls.incrementAndGet());
+
+        assertEquals("v2", second);
+        assertEquals(2, singleFlight.executed());
+        assertEquals(0, singleFlight.coalesced());
+    }
+
+    @Test
+    @DisplayName("Check if a waiter receives the exception thrown by the in-flight call")
+    void testSharedException() throws Exception {
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> leader = executor.submit(() -> singleFlight.execute(1L, () -> {
+                started.countDown();
+                await(release);
+                throw new IllegalStateException("not found");
+            }));
+            started.await(5, TimeUnit.SECONDS);
+            Future<String> waiter = executor.submit(() -> singleFlight.execute(1L, () -> "unused"));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (singleFlight.coalesced() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            Exception leaderError = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+            Exception waiterError = assertThrows(Exception.class, () -> waiter.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, leaderError.getCause());
+            assertSame(leaderError.getCause(), waiterError.getCause());
+            assertEquals(1, singleFlight.executed());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}